@@ -0,0 +1,45 @@
+package Game;
+
+/**
+ * Hands the benchmarks are parameterized with. Every hand has 14 tokens and a heavy in the first slot, just like a
+ * hand after throwing a token.
+ */
+final class BenchmarkHands {
+    static final String EASY = "easy";
+    static final String DUPLICATES = "duplicates";
+    static final String ONE_JOKER = "oneJoker";
+    static final String TWO_JOKERS = "twoJokers";
+    static final String DUPLICATES_TWO_JOKERS = "duplicatesTwoJokers";
+    static final String NO_WIN = "noWin";
+
+    private BenchmarkHands() {}
+
+    static Token[] get(String name) {
+        return switch (name) {
+            // 1 straight of 6, 2 flushes of 4
+            case EASY -> hand(1, 2, 1, 3, 1, 4, 1, 5, 1, 6, 1, 7, 0, 9, 1, 9, 2, 9, 3, 9, 0, 10, 1, 10, 2, 10, 3, 10);
+            // the same flush of 4 twice, 2 flushes of 3
+            case DUPLICATES -> hand(1, 2, 2, 2, 3, 2, 0, 2, 1, 2, 2, 2, 3, 2, 0, 2, 1, 1, 2, 1, 3, 1, 1, 4, 2, 4, 3, 4);
+            // 1 straight of 5 with a joker, 2 flushes of 4
+            case ONE_JOKER -> hand(1, 2, 1, 3, 1, 4, 1, 5, 1, 6, -1, -1, 0, 9, 1, 9, 2, 9, 3, 9, 0, 10, 1, 10, 2, 10, 3, 10);
+            // 1 straight of 8, 2 flushes of 3 completed by jokers
+            case TWO_JOKERS -> hand(1, 2, 1, 3, 1, 4, 1, 5, 1, 6, -1, -1, 0, 9, 1, 9, 0, 10, 1, 10, -1, -1, 1, 7, 1, 8, 1, 9);
+            // the same straight twice, a flush of 4 and a flush with two jokers
+            case DUPLICATES_TWO_JOKERS -> hand(1, 2, 1, 3, 1, 4, 1, 2, 1, 3, 1, 4, 0, 9, 1, 9, 2, 9, 3, 9, 0, 9, 2, 9, -1, -1, -1, -1);
+            // one token off from the easy hand
+            case NO_WIN -> hand(1, 2, 1, 3, 0, 4, 1, 5, 1, 6, 1, 7, 0, 9, 1, 9, 2, 9, 3, 9, 0, 10, 1, 10, 2, 10, 3, 10);
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    /**
+     * @param colorsAndNumbers pairs of color and number
+     */
+    private static Token[] hand(int... colorsAndNumbers) {
+        Token[] res = new Token[colorsAndNumbers.length / 2 + 1];
+        res[0] = Token.heavy();
+        for (int i = 0; i < colorsAndNumbers.length; i += 2)
+            res[i / 2 + 1] = Token.of(colorsAndNumbers[i], colorsAndNumbers[i + 1]);
+        return res;
+    }
+}
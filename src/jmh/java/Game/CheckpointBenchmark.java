@@ -0,0 +1,43 @@
+package Game;
+
+import Output.NullOutput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks taking a checkpoint of a game and resuming a game from one, which a server does for every table after a
+ * restart.
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class CheckpointBenchmark {
+    @Param ({ "2", "4" })
+    public int seats;
+
+    private Game game;
+    private byte[] checkpoint;
+
+    @Setup
+    public void setUp() {
+        Player[] players = new Player[seats];
+        for (int i = 0; i < seats; i++) players[i] = new Player("Player " + i, new GreedyStrategy());
+        game = new Game(players, new Game.Options().output(NullOutput.INSTANCE).random(new SplittableRandom(5)));
+        checkpoint = game.snapshot();
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return game.snapshot();
+    }
+
+    @Benchmark
+    public Game resume() {
+        return Game.resume(checkpoint, Player::new, new Game.Options().output(NullOutput.INSTANCE));
+    }
+}
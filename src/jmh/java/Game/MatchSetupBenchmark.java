@@ -0,0 +1,33 @@
+package Game;
+
+import Output.NullOutput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks setting up a match, which creates, shuffles and distributes all tokens.
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class MatchSetupBenchmark {
+    @Param ({ "2", "4" })
+    public int seats;
+
+    private Player[] players;
+
+    @Setup
+    public void setUp() {
+        players = new Player[seats];
+        for (int i = 0; i < seats; i++) players[i] = new Player("Player " + i);
+    }
+
+    @Benchmark
+    public Match newMatch() {
+        return new Match(players, NullOutput.INSTANCE, null);
+    }
+}
@@ -0,0 +1,62 @@
+package Game;
+
+import Output.NullOutput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the "win" command, the plain win check and the search for a winning discard, which bots run every turn.
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class WinCheckBenchmark {
+    @Param ({ BenchmarkHands.EASY, BenchmarkHands.DUPLICATES, BenchmarkHands.ONE_JOKER, BenchmarkHands.TWO_JOKERS,
+            BenchmarkHands.DUPLICATES_TWO_JOKERS, BenchmarkHands.NO_WIN })
+    public String hand;
+
+    private Match match;
+    private Hand hand15;
+    private final HandEvaluator evaluator = new HandEvaluator();
+
+    @Setup
+    public void setUp() {
+        Player p = new Player("Hakan");
+        match = new Match(new Player[] { p, new Player("Okan") }, NullOutput.INSTANCE, null);
+        p.hand = new Hand(BenchmarkHands.get(hand));
+        // a drawn token, which doesn't fit anywhere, so the bot has 15 tokens to choose the discard from
+        hand15 = new Hand(BenchmarkHands.get(hand));
+        hand15.add(Token.of(3, 13));
+    }
+
+    @Benchmark
+    public boolean currPlayerWon() {
+        return match.currPlayerWon();
+    }
+
+    @Benchmark
+    public boolean isWinning() {
+        return evaluator.isWinning(match.players[0].hand);
+    }
+
+    @Benchmark
+    public Token findWinningDiscard() {
+        return evaluator.findWinningDiscard(hand15, null);
+    }
+
+    /**
+     * Tries every discard by loading the hand again, like the bots did before.
+     */
+    @Benchmark
+    public Token findWinningDiscardReloading() {
+        for (int i = 0; i <= Token.JOKER_ID; i++) {
+            int id = (i + Token.JOKER_ID) % (Token.JOKER_ID + 1);
+            if (hand15.count(id) > 0 && evaluator.isWinning(hand15, null, Token.byId(id))) return Token.byId(id);
+        }
+        return null;
+    }
+}
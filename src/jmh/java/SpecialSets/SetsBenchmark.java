@@ -0,0 +1,40 @@
+package SpecialSets;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the subset helpers with as many elements as a hand produces straights and flushes.
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class SetsBenchmark {
+    @Param ({ "8", "16", "24" })
+    public int size;
+
+    private Set<Integer> set;
+    private List<Integer> list;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>();
+        for (int i = 0; i < size; i++) list.add(i);
+        set = new HashSet<>(list);
+    }
+
+    @Benchmark
+    public Set<Set<Integer>> powerSetWithMaxSize() {
+        return new Sets<Integer>().powerSetWithMaxSize(set, 4);
+    }
+
+    @Benchmark
+    public Set<Integer[]> subsetsWithMinSize() {
+        return new Sets<Integer>().subsetsWithMinSize(Integer.class, list, 3);
+    }
+}
@@ -0,0 +1,217 @@
+package Game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps checkpoints of many games in a memory-mapped file, so they can be resumed after the process restarted (see
+ * {@link Game#resume}).
+ * <p>
+ * Every game gets a slot of the file. A tracked game publishes a checkpoint before every match and after every turn on
+ * its own thread, which only costs encoding about 200 bytes. Copying them to the file is done periodically on a
+ * background thread, which writes each changed checkpoint once and then forces the file to the disk. Every slot has two
+ * halves, which are written in turns:
+ * <pre>
+ * long   sequence  number of the checkpoint of the slot, starting with 1
+ * int    length    length of the checkpoint
+ * int    crc       CRC32 of the checkpoint
+ * byte[] the checkpoint
+ * </pre>
+ * So a crash while writing only loses the newest checkpoint, the other half still holds the one before.
+ */
+public class Checkpointer implements Closeable {
+    static final int HEADER = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int slots;
+    private final int half;
+    private final Map<Integer, Game> games = new ConcurrentHashMap<>();
+    /**
+     * Last checkpoint written and its sequence number for each slot. Guarded by this. The sequence numbers start at
+     * the ones of the newest intact checkpoints in the file, so the next checkpoint of a slot never overwrites them.
+     */
+    private final byte[][] written;
+    private final long[] sequences;
+    private ScheduledExecutorService timer;
+    private long skipped;
+
+    /**
+     * Opens the file of the checkpoints. If it exists, its checkpoints can be read with {@link #read(int)}.
+     *
+     * @param file     file of the checkpoints
+     * @param slots    amount of games, which can be checkpointed
+     * @param slotSize bytes of each slot. Checkpoints must fit into half of it with the header, so 1 KB is plenty for
+     *                 names of usual length.
+     */
+    public Checkpointer(Path file, int slots, int slotSize) throws IOException {
+        if (slots <= 0 || slotSize < 2 * HEADER)
+            throw new IllegalArgumentException("There must be slots with room for checkpoints.");
+        if ((long) slots * slotSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The checkpoints must fit into 2 GB.");
+        this.slots = slots;
+        this.half = slotSize / 2;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slots * 2 * half);
+        written = new byte[slots][];
+        sequences = new long[slots];
+        for (int slot = 0; slot < slots; slot++)
+            for (int h = 0; h < 2; h++)
+                if (intact(slot, h) != null) sequences[slot] = Math.max(sequences[slot], sequence(slot, h));
+    }
+
+    /**
+     * Starts keeping checkpoints of the game in the given slot. A game, which was tracked in the slot before, is no
+     * longer tracked.
+     *
+     * @param slot slot of the game
+     * @param game game to checkpoint
+     */
+    public void track(int slot, @NotNull Game game) {
+        Objects.checkIndex(slot, slots);
+        game.checkpointing = true;
+        Game before = games.put(slot, game);
+        if (before != null && before != game) before.checkpointing = false;
+    }
+
+    /**
+     * Stops keeping checkpoints of the game in the given slot. Its last checkpoint stays in the file.
+     *
+     * @param slot slot of the game
+     */
+    public void untrack(int slot) {
+        Game game = games.remove(slot);
+        if (game != null) game.checkpointing = false;
+    }
+
+    /**
+     * Writes the checkpoints, which changed since the last time, and forces them to the disk.
+     */
+    public synchronized void checkpoint() {
+        boolean changed = false;
+        for (Map.Entry<Integer, Game> e : games.entrySet()) {
+            int slot = e.getKey();
+            byte[] checkpoint = e.getValue().lastCheckpoint();
+            if (checkpoint == null || checkpoint == written[slot]) continue;
+            if (checkpoint.length > half - HEADER) {
+                skipped++;
+                continue;
+            }
+
+            long sequence = sequences[slot] + 1;
+            int at = offset(slot, (int) (sequence & 1));
+            CRC32 crc = new CRC32();
+            crc.update(checkpoint);
+            map.put(at + HEADER, checkpoint)
+               .putInt(at + 8, checkpoint.length)
+               .putInt(at + 12, (int) crc.getValue())
+               .putLong(at, sequence);
+            sequences[slot] = sequence;
+            written[slot] = checkpoint;
+            changed = true;
+        }
+        if (changed) map.force();
+    }
+
+    /**
+     * Writes the changed checkpoints periodically on a daemon thread, until this is closed.
+     *
+     * @param period time between two checkpoints
+     */
+    public synchronized void start(@NotNull Duration period) {
+        if (timer != null) throw new IllegalStateException("The checkpoints are already written periodically.");
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "checkpointer");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(this::checkpoint, period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reads the newest intact checkpoint of a slot.
+     *
+     * @param slot slot of the game
+     * @return the checkpoint, null if the slot has none
+     */
+    public synchronized byte[] read(int slot) {
+        Objects.checkIndex(slot, slots);
+        byte[] newest = null;
+        long newestSequence = 0;
+        for (int h = 0; h < 2; h++) {
+            long sequence = sequence(slot, h);
+            if (sequence <= newestSequence) continue;
+            byte[] checkpoint = intact(slot, h);
+            if (checkpoint == null) continue;
+            newest = checkpoint;
+            newestSequence = sequence;
+        }
+        return newest;
+    }
+
+    /**
+     * Reads the checkpoint in a half of a slot, if its length and CRC are right. A torn write leaves a half, whose
+     * sequence number may be the highest of the slot, but whose checkpoint is broken.
+     *
+     * @return the checkpoint, null if the half holds none or a broken one
+     */
+    private byte[] intact(int slot, int h) {
+        int at = offset(slot, h);
+        int length = map.getInt(at + 8);
+        if (map.getLong(at) <= 0 || length <= 0 || length > half - HEADER) return null;
+
+        byte[] checkpoint = new byte[length];
+        map.get(at + HEADER, checkpoint);
+        CRC32 crc = new CRC32();
+        crc.update(checkpoint);
+        return (int) crc.getValue() == map.getInt(at + 12) ? checkpoint : null;
+    }
+
+    /**
+     * @return amount of slots
+     */
+    public int slots() {
+        return slots;
+    }
+
+    /**
+     * @return amount of checkpoints, which were too large for their slot and therefore not written
+     */
+    public synchronized long skipped() {
+        return skipped;
+    }
+
+    private int offset(int slot, int h) {
+        return (slot * 2 + h) * half;
+    }
+
+    private long sequence(int slot, int h) {
+        return map.getLong(offset(slot, h));
+    }
+
+    /**
+     * Stops the periodic checkpoints, writes the changed ones a last time and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (timer != null) timer.shutdownNow();
+        }
+        checkpoint();
+        channel.close();
+    }
+}
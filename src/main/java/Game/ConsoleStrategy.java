@@ -0,0 +1,113 @@
+package Game;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Makes the decisions of a player, who types them at the console or over his connection. The typed lines are parsed
+ * into decisions here, so the match only deals with tokens:
+ * <ul>
+ *     <li>"new" or "thrown" decides where the next token comes from,</li>
+ *     <li>a token like "Gelb 5" or "Joker" throws it,</li>
+ *     <li>"win Gelb 5" throws the token and claims the win ("win" alone throws a joker),</li>
+ *     <li>"show" shows the hand and the best discards and</li>
+ *     <li>"exit" leaves the match.</li>
+ * </ul>
+ * Invalid lines are answered and asked for again. If the player doesn't answer within the turn timeout, he left.
+ */
+class ConsoleStrategy implements Strategy {
+    private final Match match;
+    private final Player player;
+    private boolean claim;
+    private boolean left;
+
+    /**
+     * @param match  match the player plays
+     * @param player player, who types the decisions
+     */
+    ConsoleStrategy(@NotNull Match match, @NotNull Player player) {
+        this.match = match;
+        this.player = player;
+    }
+
+    @Override
+    public boolean takeThrown(Hand hand, Token thrown) {
+        while (true) {
+            String s = match.game.waitForInput(player);
+            if (s == null || s.equals("exit")) {
+                left = true;
+                return false;
+            }
+            if (s.equals("new")) return false;
+            if (s.equals("thrown")) return true;
+            match.out.println("Please write \"new\" for a new Token or \"thrown\" for the thrown Token.");
+        }
+    }
+
+    @Override
+    public Token discard(Hand hand) {
+        while (true) {
+            String s = match.game.waitForInput(player);
+            if (s == null) left = true;
+            if (left) return null;
+
+            try {
+                Token t = parse(s.split(" "));
+                if (left) return null;
+                if (t == null) continue;
+                if (claim || hand.contains(t)) return t;
+                match.out.println("The thrown Token is not in your Hand. Please throw a Token you have.");
+            } catch (IllegalArgumentException e) {
+                match.out.println("Invalid Argument. Please write the color of your token and then the number e.g. " +
+                        "\"Gelb 5\". For Joker, write \"Joker\".");
+            }
+        }
+    }
+
+    @Override
+    public boolean declareWin(Hand hand, Token discard) {
+        return claim;
+    }
+
+    @Override
+    public boolean retriesWrongClaim() {
+        return true;
+    }
+
+    @Override
+    public boolean hasLeft() {
+        return left;
+    }
+
+    /**
+     * Parses a line typed while the player has to throw a token.
+     *
+     * @param parts words of the line
+     * @return the token to throw, null if the line asked for something else or the player left
+     * @throws IllegalArgumentException if the line is no valid command or token
+     */
+    private Token parse(String @NotNull [] parts) {
+        claim = false;
+        switch (parts[0]) {
+            case "exit" -> {
+                left = true;
+                return null;
+            }
+            case "show" -> {
+                match.showHand();
+                match.showHints();
+                return null;
+            }
+            case "Joker" -> {
+                return Token.joker();
+            }
+            case "win" -> {
+                claim = true;
+                return parts.length == 3 ? Token.parse(parts[1], parts[2]) : Token.joker();
+            }
+            default -> {
+                if (parts.length != 2) throw new IllegalArgumentException();
+                return Token.parse(parts[0], parts[1]);
+            }
+        }
+    }
+}
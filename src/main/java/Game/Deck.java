@@ -0,0 +1,84 @@
+package Game;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * The pile of tokens to draw from: every numbered token twice and two jokers.
+ * <p>
+ * The tokens are kept in a fixed array and drawn from the front by moving a cursor, so drawing never shifts the
+ * remaining tokens. Shuffling only depends on the given random, so the same seed always gives the same order.
+ */
+class Deck {
+    static final int SIZE = 106;
+
+    private final Token[] tokens = new Token[SIZE];
+    private int cursor = 0;
+
+    /**
+     * Creates an unshuffled deck.
+     */
+    Deck() {
+        int i = 0;
+        for (int k = 0; k < 2; k++)                     // duplicate tokens
+            for (int id = 0; id < Token.JOKER_ID; id++)
+                tokens[i++] = Token.byId(id);
+        tokens[i++] = Token.joker();
+        tokens[i] = Token.joker();
+    }
+
+    /**
+     * Creates a deck, of which only the given tokens are left to draw, e.g. the deck of a checkpointed match.
+     *
+     * @param left tokens left to draw, in the order they are drawn
+     */
+    Deck(Token[] left) {
+        this();
+        cursor = SIZE - left.length;
+        System.arraycopy(left, 0, tokens, cursor, left.length);
+    }
+
+    /**
+     * Shuffles the tokens, which are left to draw (Fisher-Yates).
+     *
+     * @param random source of randomness
+     */
+    void shuffle(SplittableRandom random) {
+        for (int i = SIZE - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            Token t = tokens[i];
+            tokens[i] = tokens[j];
+            tokens[j] = t;
+        }
+    }
+
+    /**
+     * Draws the next token.
+     *
+     * @return the next token
+     * @throws NoSuchElementException if there are no tokens left
+     */
+    Token draw() {
+        if (isEmpty()) throw new NoSuchElementException("There are no tokens left.");
+        return tokens[cursor++];
+    }
+
+    boolean isEmpty() {
+        return cursor == SIZE;
+    }
+
+    /**
+     * @return amount of tokens left to draw
+     */
+    int remaining() {
+        return SIZE - cursor;
+    }
+
+    /**
+     * @return the tokens left to draw, in the order they are drawn
+     */
+    Token[] left() {
+        return Arrays.copyOfRange(tokens, cursor, SIZE);
+    }
+}
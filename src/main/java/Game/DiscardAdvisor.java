@@ -0,0 +1,77 @@
+package Game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tells a player with 15 tokens what each of his distinct discards leaves: whether the other 14 tokens win and how many
+ * tokens they are away from winning.
+ * <p>
+ * Throwing a token moves the hand at most one token away from winning, and the best discard keeps its distance. So
+ * once the distance of the 15 tokens is known, it only remains to find the discards, which keep it. Those are found
+ * by a single search through the 15 tokens (see {@link HandEvaluator#discardsWithin(Hand, int, long)}) instead of one
+ * search for every discard. Its first steps are independent of each other and run in parallel on a ForkJoinPool,
+ * each thread with its own evaluator.
+ */
+public class DiscardAdvisor {
+    private static final ThreadLocal<HandEvaluator> EVALUATORS = ThreadLocal.withInitial(HandEvaluator::new);
+
+    private DiscardAdvisor() {}
+
+    /**
+     * What a discard leaves.
+     *
+     * @param discard  token to throw
+     * @param distance amount of tokens the remaining 14 have to exchange to win
+     */
+    public record Advice(Token discard, int distance) {
+        /**
+         * @return true if the remaining 14 tokens win
+         */
+        public boolean wins() {
+            return distance == 0;
+        }
+    }
+
+    /**
+     * Evaluates all distinct discards of the hand on the common pool.
+     *
+     * @param hand hand of 15 tokens, which must not change meanwhile
+     * @return one advice for each distinct token of the hand, the best discards first
+     */
+    public static List<Advice> advise(@NotNull Hand hand) {
+        return advise(hand, new WinDistance().of(hand), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evaluates all distinct discards of the hand.
+     *
+     * @param hand     hand of 15 tokens, which must not change meanwhile
+     * @param distance amount of tokens the 15 tokens are away from winning, see {@link WinDistance#of(Hand)}
+     * @param pool     pool to evaluate the discards on
+     * @return one advice for each distinct token of the hand, the best discards first
+     */
+    static List<Advice> advise(@NotNull Hand hand, int distance, @NotNull ForkJoinPool pool) {
+        if (hand.size() != HandEvaluator.HAND_SIZE + 1)
+            throw new IllegalArgumentException("Only a hand of 15 tokens can throw a token.");
+
+        long[] steps = EVALUATORS.get().discardSteps(hand, distance);
+        long keeping = pool.submit(() -> Arrays.stream(steps)
+                                               .parallel()
+                                               .map(s -> EVALUATORS.get().discardsWithin(hand, distance, s))
+                                               .reduce(0, (a, b) -> a | b)).join();
+
+        List<Advice> res = new ArrayList<>();
+        for (int id = 0; id <= Token.JOKER_ID; id++)
+            if (hand.count(id) > 0)
+                // every other discard leaves the 14 tokens one more token away
+                res.add(new Advice(Token.byId(id), (keeping & 1L << id) != 0 ? distance : distance + 1));
+        res.sort(Comparator.comparingInt(Advice::distance));
+        return List.copyOf(res);
+    }
+}
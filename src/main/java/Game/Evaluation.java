@@ -0,0 +1,31 @@
+package Game;
+
+import java.util.List;
+
+/**
+ * Result of evaluating a hand.
+ *
+ * @param type        how the hand wins, {@link WinType#NONE} if it doesn't
+ * @param combination runs and sets, or pairs, of the winning hand (empty if it doesn't win). Must not be changed.
+ */
+record Evaluation(WinType type, List<Token[]> combination) {
+    static final Evaluation NOT_WINNING = new Evaluation(WinType.NONE, List.of());
+
+    /**
+     * @return true if the hand is a winning hand
+     */
+    boolean winning() {
+        return type != WinType.NONE;
+    }
+
+    /**
+     * Finishing by throwing a joker counts double, no matter how the rest of the hand wins.
+     *
+     * @param discard token thrown to finish, null for none
+     * @return the evaluation of the win with that discard
+     */
+    Evaluation finishedWith(Token discard) {
+        if (!winning() || discard == null || discard.getColor() != Token.JOKER) return this;
+        return new Evaluation(WinType.JOKER_DISCARD, combination);
+    }
+}
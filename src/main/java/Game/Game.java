@@ -3,20 +3,51 @@ package Game;
 import Output.KonsoleOutput;
 import Output.Output;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.*;
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 public class Game {
-    final int maxWaitTime = 100;
     private final Output out;
-    private final BufferedReader reader;
+    private final InputChannel input;
+    /**
+     * Input the game waited for last, see {@link #waitForInput(InputChannel)}.
+     */
+    private InputChannel lastInput;
+    /**
+     * How long a player has to answer, before the game ends.
+     */
+    private Duration turnTimeout;
     private final Map<Player, Integer> score = new HashMap<>();
+    /**
+     * Places of the players, who lost. Players, who lose in the same match, share their place.
+     */
+    private final Map<Player, Integer> places = new HashMap<>();
     private Player[] players;
     private Match currentMatch;
+    private int matchesPlayed;
+    /**
+     * Log of all matches, null for none.
+     */
+    private MatchLog log;
+    /**
+     * Seed of the game. The seed of each match only depends on it and the amount of matches before, so a game resumed
+     * from a checkpoint deals the same matches.
+     */
+    private long seed;
+    /**
+     * Records how long the matches of the game and the waits for input take.
+     */
+    final Metrics metrics;
+    /**
+     * True while a {@link Checkpointer} keeps checkpoints of the game.
+     */
+    volatile boolean checkpointing;
+    /**
+     * Latest checkpoint of the game, see {@link #snapshot()}, null if there is none yet.
+     */
+    private volatile byte[] checkpoint;
 
     public Game(Player[] players) {
         this(players, new InputStreamReader(System.in));
@@ -27,42 +58,154 @@ public class Game {
     }
 
     public Game(Player[] players, Reader reader, Output out) {
+        this(players, new Options().input(reader == null ? null : new InputChannel(reader)).output(out));
+    }
+
+    /**
+     * Creates a game with the given options. If the given players are invalid, it already asks for the names of the
+     * players, so that waits for the input of the options too.
+     */
+    public Game(Player[] players, Options options) {
+        this(options);
         this.players = players;
-        this.reader = new BufferedReader(reader);
-        this.out = out;
+        this.seed = options.random.nextLong();
         if (init() < 0) newPlayers();
-        currentMatch = new Match(this.players, out, this);
+        currentMatch = newMatch();
+    }
+
+    /**
+     * Creates a game to resume, without players or match.
+     */
+    private Game(Options options) {
+        this.input = options.input;
+        this.out = options.out;
+        this.metrics = options.metrics;
+        this.turnTimeout = options.turnTimeout;
     }
 
     public Game() {
-        this(null);
+        this((Player[]) null);
     }
 
     /**
-     * Starts the game. As long as no one lost or exited it will keep running.
+     * Starts the game. As long as no one lost or exited it will keep running. A match without tokens left to draw has
+     * no winner and is just played again.
      */
     public void start() {
         while (playersLeft()) {
+            checkpoint();
+            if (log != null) currentMatch.listener = log.newMatch();
             Player winner = currentMatch.start();
-            if (winner == null) {
+            matchesPlayed++;
+            if (winner == null && !currentMatch.exhausted) {
                 out.println("A player left or exited the game.");
                 return;
             }
-            endOfMatch(winner);
-            currentMatch = new Match(players, out, this);
+            if (winner != null) endOfMatch(winner, currentMatch.winType);
+            currentMatch = newMatch();
+        }
+        checkpoint();
+    }
+
+    /**
+     * @return the next match, shuffled with the seed of the game and the amount of matches played
+     */
+    private Match newMatch() {
+        return new Match(players, out, this, new SplittableRandom(seed + matchesPlayed));
+    }
+
+    /**
+     * Publishes a checkpoint, if a {@link Checkpointer} keeps them. Only called by the thread of the game, before a
+     * match and after every turn.
+     */
+    void checkpoint() {
+        if (checkpointing) checkpoint = snapshot();
+    }
+
+    /**
+     * @return the latest checkpoint published by the game, null if there is none yet
+     */
+    byte[] lastCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Writes the state of the game between two turns in a compact binary format, which {@link #resume} reads:
+     * <pre>
+     * long   seed of the game
+     * int    matches played
+     * byte   amount of players, then for each in the order of their seats: name (UTF), score (byte)
+     * byte   amount of losers, then for each: name (UTF), score (byte), place (byte)
+     * ...    the current match, see {@link Match#write(DataOutput)}
+     * </pre>
+     * Only to be called by the thread of the game or while it doesn't run.
+     *
+     * @return the checkpoint
+     */
+    byte[] snapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeLong(seed);
+            data.writeInt(matchesPlayed);
+            data.writeByte(players.length);
+            for (Player p : players) {
+                data.writeUTF(p.name);
+                data.writeByte(score.get(p));
+            }
+            data.writeByte(places.size());
+            for (Map.Entry<Player, Integer> e : places.entrySet()) {
+                data.writeUTF(e.getKey().name);
+                data.writeByte(score.get(e.getKey()));
+                data.writeByte(e.getValue());
+            }
+            currentMatch.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Resumes a game from a checkpoint, see {@link #snapshot()}. It continues with the turn after the checkpoint,
+     * when it is started.
+     *
+     * @param checkpoint checkpoint of the game
+     * @param players    gives the player of each name, e.g. with his strategy or input
+     * @param options    options of the game, e.g. its input and turn timeout. The seed comes from the checkpoint, so
+     *                   the random of the options isn't used.
+     * @return the resumed game
+     * @throws IllegalArgumentException if the checkpoint is corrupt
+     */
+    public static Game resume(byte[] checkpoint, Function<String, Player> players, Options options) {
+        Game game = new Game(options);
+        try {
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(checkpoint));
+            game.seed = data.readLong();
+            game.matchesPlayed = data.readInt();
+            game.players = new Player[data.readByte()];
+            for (int i = 0; i < game.players.length; i++) {
+                game.players[i] = players.apply(data.readUTF());
+                game.score.put(game.players[i], (int) data.readByte());
+            }
+            for (int i = data.readByte(); i > 0; i--) {
+                Player p = players.apply(data.readUTF());
+                game.score.put(p, (int) data.readByte());
+                game.places.put(p, (int) data.readByte());
+            }
+            game.currentMatch = Match.read(data, game.players, game.out, game);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("The checkpoint is corrupt.", e);
         }
+        return game;
     }
 
     /**
-     * Removes all losers from the game.
+     * Removes all losers, i.e. players without points left, from the game. The others keep their order, so the seats don't depend on hash codes.
      */
     private void removeLosers() {
-        Set<Player> stillInGame =
-                score.keySet()
-                     .stream()
-                     .filter(k -> score.get(k) != 0)
-                     .collect(Collectors.toCollection(HashSet::new));
-        players = stillInGame.toArray((int value) -> new Player[value]);
+        Player[] left = Arrays.stream(players).filter(p -> score.get(p) > 0).toArray((int value) -> new Player[value]);
+        for (Player p : players) if (score.get(p) <= 0) places.put(p, left.length + 1);
+        players = left;
     }
 
     /**
@@ -92,21 +235,33 @@ public class Game {
     }
 
     /**
-     * Waits for Input.
+     * Waits for Input, at most for the turn timeout.
      *
-     * @param waitTime periodical wait time between each check
-     * @return String which was read from Input
-     * @field maxWaitTime determines maximum amount of seconds to wait
+     * @return String which was read from Input, null if there is no Input
      */
-    String waitForInput(int waitTime) {
-        String s = "exit";
-        int i = 0;
-        synchronized (TimeUnit.MILLISECONDS) {
-            try {
-                while ((s = reader.readLine()) == null && (i += waitTime) < 100 * 1000)
-                    TimeUnit.MILLISECONDS.wait(waitTime);
-            } catch (Exception ignored) {}
-        }
+    String waitForInput() {
+        return waitForInput(input);
+    }
+
+    /**
+     * Waits for Input of the given player. Players without an input of their own type at the input of the game.
+     *
+     * @param p player, whose turn it is
+     * @return String which was read from Input, null if there is no Input
+     */
+    String waitForInput(Player p) {
+        return waitForInput(p.input != null ? p.input : input);
+    }
+
+    private String waitForInput(InputChannel channel) {
+        if (channel == null) return null;
+        // the game responded to the line of the last player, when it waits for the next one
+        if (lastInput != null && lastInput != channel) lastInput.responded();
+        lastInput = channel;
+        out.flush();
+        long start = metrics.start();
+        String s = channel.next(turnTimeout);
+        metrics.stop(metrics.inputWait, start);
         return s;
     }
 
@@ -116,7 +271,8 @@ public class Game {
     private void newPlayers() {
         out.println("Please enter the player names.");
 
-        String s = waitForInput(100);
+        String s = waitForInput();
+        if (s == null) return;
 
         setPlayers(Arrays.stream(s.split(" ")).map(Player::new).toArray((int value) -> new Player[value]));
         init();
@@ -126,11 +282,15 @@ public class Game {
      * Prints relevant infos at the end of each match and reduces the losers points.
      *
      * @param winner the winner of the last match
+     * @param type   how the winner won
      */
-    private void endOfMatch(Player winner) {
-        reducePoints(winner);
+    private void endOfMatch(Player winner, WinType type) {
+        reducePoints(winner, type.points());
         removeLosers();
 
+        if (type != WinType.ORDINARY)
+            out.println(winner + " won with " + (type == WinType.SEVEN_PAIRS ? "seven pairs" : "a joker")
+                    + ", so everyone else loses " + type.points() + " points.");
         out.println("The winner is " + winner + ". Congratulations!!");
         if (playersLeft())
             out.println("The next match is about to start.\n\n\n\n\n");
@@ -174,9 +334,10 @@ public class Game {
      * Reduces the points of the losers of the last match.
      *
      * @param winner winner of the last game
+     * @param points points every loser loses
      */
-    private void reducePoints(Player winner) {
-        for (Player p : players) if (!p.equals(winner)) score.put(p, score.get(p) - 2);
+    private void reducePoints(Player winner, int points) {
+        for (Player p : players) if (!p.equals(winner)) score.put(p, score.get(p) - points);
     }
 
     /**
@@ -231,7 +392,102 @@ public class Game {
         return null;
     }
 
+    /**
+     * Gives the place of a player in the game: 1 for the winner of the game, the losers by the match they lost in.
+     * Players, who lost in the same match, share their place.
+     *
+     * @param p player of the game
+     * @return the place of the player, 0 if the game didn't end (yet) and he didn't lose
+     */
+    public int getPlaceOf(Player p) {
+        Integer place = places.get(p);
+        if (place != null) return place;
+        return !playersLeft() && players.length == 1 && players[0] == p ? 1 : 0;
+    }
+
+    /**
+     * Gives the amount of matches played in this game, including matches without a winner.
+     *
+     * @return the amount of matches played
+     */
+    public int getMatchesPlayed() {
+        return matchesPlayed;
+    }
+
+    /**
+     * Sets how long the game waits for the answer of a player, before it ends. Default are 100 seconds.
+     *
+     * @param turnTimeout maximum time to wait for each input
+     */
+    public void setTurnTimeout(Duration turnTimeout) {
+        this.turnTimeout = Objects.requireNonNull(turnTimeout);
+    }
+
+    /**
+     * Writes every match of this game to the log.
+     *
+     * @param log log to write to, null for none
+     */
+    public void setLog(MatchLog log) {
+        this.log = log;
+    }
+
     public void setPlayers(Player[] players) {
         this.players = players;
     }
+
+    /**
+     * Options of a new game. Each setter returns the options, so they can be chained.
+     */
+    public static final class Options {
+        private InputChannel input;
+        private Output out = new KonsoleOutput();
+        private SplittableRandom random = new SplittableRandom();
+        private Metrics metrics = Metrics.shared();
+        private Duration turnTimeout = Duration.ofSeconds(100);
+
+        /**
+         * @param input channel the game gets its input from, e.g. one of many in the same process, null for none, if
+         *              all players have a {@link Strategy}. Default is none.
+         */
+        public Options input(InputChannel input) {
+            this.input = input;
+            return this;
+        }
+
+        /**
+         * @param out output of the game. Default is the console.
+         */
+        public Options output(Output out) {
+            this.out = Objects.requireNonNull(out);
+            return this;
+        }
+
+        /**
+         * Games with the same seed and the same decisions play out the same way, so give every game of a simulation its
+         * own {@link SplittableRandom#split() split}.
+         *
+         * @param random source of the seed of the game, must not be shared with other threads
+         */
+        public Options random(SplittableRandom random) {
+            this.random = Objects.requireNonNull(random);
+            return this;
+        }
+
+        /**
+         * @param metrics records the matches of the game and the waits for input. Default are the shared ones.
+         */
+        public Options metrics(Metrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics);
+            return this;
+        }
+
+        /**
+         * @param turnTimeout maximum time to wait for each input. Default are 100 seconds.
+         */
+        public Options turnTimeout(Duration turnTimeout) {
+            this.turnTimeout = Objects.requireNonNull(turnTimeout);
+            return this;
+        }
+    }
 }
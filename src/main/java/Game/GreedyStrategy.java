@@ -0,0 +1,106 @@
+package Game;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A simple bot. It wins as soon as it can and otherwise throws the token with the fewest neighbours, i.e. the token,
+ * which is least likely to end up in a run or a set.
+ * <p>
+ * It only takes the thrown token, if it wins with it or if the token completes a run or set of three. It never takes
+ * back the token it threw itself, so two bots can't pass the same token back and forth forever.
+ * <p>
+ * The discards it tries are evaluated directly instead of through the {@link WinCache}. Nearly all of them are distinct
+ * hands, so looking them up costs more than it saves.
+ */
+public class GreedyStrategy implements Strategy {
+    private final HandEvaluator evaluator = new HandEvaluator();
+    private Token winningDiscard;
+    private Token lastDiscard;
+
+    @Override
+    public void matchStarted(int players) {
+        lastDiscard = null;
+    }
+
+    @Override
+    public boolean takeThrown(Hand hand, Token thrown) {
+        if (thrown == null || thrown == lastDiscard) return false;
+        return findWinningDiscard(hand, thrown) != null || completesGroup(hand, thrown);
+    }
+
+    @Override
+    public Token discard(Hand hand) {
+        winningDiscard = findWinningDiscard(hand, null);
+        if (winningDiscard != null) return lastDiscard = winningDiscard;
+
+        Token worst = null;
+        int worstScore = Integer.MAX_VALUE;
+        for (int id = 0; id < Token.JOKER_ID; id++) {
+            if (hand.count(id) == 0) continue;
+            int score = neighbours(hand, Token.byId(id));
+            if (score < worstScore) {
+                worst = Token.byId(id);
+                worstScore = score;
+            }
+        }
+        return lastDiscard = worst == null ? Token.joker() : worst;
+    }
+
+    @Override
+    public boolean declareWin(Hand hand, Token discard) {
+        return winningDiscard != null && winningDiscard == discard;
+    }
+
+    /**
+     * Tries every token of the hand as discard, see {@link HandEvaluator#findWinningDiscard(Hand, Token)}.
+     *
+     * @param hand  hand of the player
+     * @param added token the hand would get first, null for none
+     * @return a token, which leaves a winning hand when thrown, or null if there is none
+     */
+    private Token findWinningDiscard(@NotNull Hand hand, Token added) {
+        return evaluator.findWinningDiscard(hand, added);
+    }
+
+    /**
+     * Rates how well the token fits into the hand. Direct neighbours in a run and tokens of the same number count 2, a
+     * gap of one in a run counts 1.
+     */
+    static int neighbours(Hand hand, Token t) {
+        int c = t.getColor(), n = t.getNumber(), score = 0;
+
+        if (has(hand, c, n - 1)) score += 2;
+        if (has(hand, c, n + 1)) score += 2;
+        if (has(hand, c, n - 2)) score += 1;
+        if (has(hand, c, n + 2)) score += 1;
+        for (int o = 0; o < 4; o++)
+            if (o != c && has(hand, o, n)) score += 2;
+        return score;
+    }
+
+    /**
+     * Checks if the token forms a run or a set of three with two tokens of the hand.
+     */
+    private static boolean completesGroup(Hand hand, Token t) {
+        if (t.getColor() == Token.JOKER) return true;
+
+        int c = t.getColor(), n = t.getNumber(), colors = 0;
+        for (int o = 0; o < 4; o++)
+            if (o != c && has(hand, o, n)) colors++;
+
+        return colors >= 2
+                || (has(hand, c, n - 2) && has(hand, c, n - 1))
+                || (has(hand, c, n - 1) && has(hand, c, n + 1))
+                || (has(hand, c, n + 1) && has(hand, c, n + 2));
+    }
+
+    /**
+     * Checks if the hand has the token with the given color and number. Numbers up to two outside of 1 to 13 wrap
+     * around, e.g. 14 is the 1 following the 13.
+     */
+    private static boolean has(Hand hand, int color, int number) {
+        if (number == 14 || number == 15) number -= 13;
+        else if (number == 0 || number == -1) number += 13;
+        return hand.count(color * 13 + number - 1) > 0;
+    }
+}
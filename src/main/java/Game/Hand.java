@@ -0,0 +1,156 @@
+package Game;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The tokens a player holds, stored as the count of each kind of token (indexed by {@link Token#getId()}).
+ * <p>
+ * Adding, removing and looking up a token are O(1). The sorted views are built when they are first asked for and
+ * kept until the hand changes. Heavies are never part of a hand.
+ */
+public class Hand {
+    private final byte[] counts = new byte[Token.KINDS];
+    private int size;
+    /**
+     * Counts the changes of the hand, so derived values can tell if they are outdated.
+     */
+    private int modCount;
+    private Token[] byColor;
+    private Token[] byNumber;
+
+    public Hand() {}
+
+    /**
+     * Creates a hand of the given tokens. Heavies and null are skipped.
+     *
+     * @param tokens tokens of the hand
+     */
+    public Hand(Token... tokens) {
+        for (Token t : tokens) if (t != null) add(t);
+    }
+
+    /**
+     * Adds a token to the hand. Heavies are ignored.
+     *
+     * @param t token to add
+     */
+    public void add(Token t) {
+        if (t.getId() == Token.HEAVY_ID) return;
+        counts[t.getId()]++;
+        size++;
+        changed();
+    }
+
+    /**
+     * Removes one token of the given kind from the hand.
+     *
+     * @param t token to remove
+     * @return true if the token was in the hand
+     */
+    public boolean remove(Token t) {
+        if (counts[t.getId()] == 0) return false;
+        counts[t.getId()]--;
+        size--;
+        changed();
+        return true;
+    }
+
+    public boolean contains(Token t) {
+        return counts[t.getId()] > 0;
+    }
+
+    /**
+     * @return how many tokens of the given kind are in the hand
+     */
+    public int count(Token t) {
+        return counts[t.getId()];
+    }
+
+    int count(int id) {
+        return counts[id];
+    }
+
+    public int jokers() {
+        return counts[Token.JOKER_ID];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int modCount() {
+        return modCount;
+    }
+
+    /**
+     * Gives the tokens sorted by color and then by number, jokers first. The array is shared and must not be changed.
+     *
+     * @return the sorted tokens
+     */
+    public Token[] byColor() {
+        if (byColor == null) {
+            byColor = new Token[size];
+            int i = fillJokers(byColor);
+            for (int id = 0; id < Token.JOKER_ID; id++)
+                for (int k = 0; k < counts[id]; k++) byColor[i++] = Token.byId(id);
+        }
+        return byColor;
+    }
+
+    /**
+     * Gives the tokens sorted by number and then by color, jokers first. The array is shared and must not be changed.
+     *
+     * @return the sorted tokens
+     */
+    public Token[] byNumber() {
+        if (byNumber == null) {
+            byNumber = new Token[size];
+            int i = fillJokers(byNumber);
+            for (int n = 0; n < 13; n++)
+                for (int c = 0; c < 4; c++)
+                    for (int k = 0; k < counts[c * 13 + n]; k++) byNumber[i++] = Token.byId(c * 13 + n);
+        }
+        return byNumber;
+    }
+
+    /**
+     * Gives the ways this hand of 14 tokens wins, one after the other. They are searched while the stream is used, so
+     * {@code limit} or {@code findFirst} stop early and nothing is kept for the ones not asked for. The hand must not
+     * change while the stream is used.
+     *
+     * @return the runs and sets (or seven pairs) of each winning decomposition, with jokers placed where they are used.
+     * Empty if the hand doesn't win.
+     */
+    public Stream<List<Token[]>> decompositions() {
+        return HandEvaluator.decompositions(this, null, null);
+    }
+
+    private int fillJokers(Token[] view) {
+        int i = 0;
+        while (i < jokers()) view[i++] = Token.joker();
+        return i;
+    }
+
+    private void changed() {
+        modCount++;
+        byColor = null;
+        byNumber = null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Hand h && Arrays.equals(counts, h.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(byColor());
+    }
+}
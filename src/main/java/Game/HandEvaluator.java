@@ -0,0 +1,898 @@
+package Game;
+
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decides whether a hand of 14 tokens is a winning hand: either it can be split into runs and sets, or it consists of
+ * seven pairs.
+ * <p>
+ * The hand is kept as a 4x13 matrix of token counts plus the amount of jokers. The lowest remaining token always has
+ * to be part of some run or set, so the search only branches over the combinations containing that token and then
+ * recurses on what is left. States which turned out to be dead ends are memoized, so every state is only explored
+ * once.
+ * <p>
+ * Runs are stored with positions 1 to 14, where 14 is a 1 used above the 13 (e.g. 12-13-1). A run can't use both
+ * ends, so 13-1-2 is not a valid run.
+ * <p>
+ * Seven pairs only need the counts, so the pairs are counted while the matrix is filled and checked before any search.
+ * <p>
+ * All winning splits can be enumerated lazily with {@link #decompositions(Hand, Token, Token)}, which walks the same
+ * search one combination at a time.
+ * <p>
+ * The same search also tells how close a hand is to winning (see {@link #isWithin(Hand, Token, int)}): exchanged
+ * tokens are dropped from the hand and replaced by jokers, which can stand in for any token. Which discards of 15 tokens
+ * keep them within a distance is found by a single search as well, see {@link #discardsWithin(Hand, int, long)}.
+ */
+class HandEvaluator {
+    static final int COLORS = 4;
+    static final int NUMBERS = 13;
+    static final int HAND_SIZE = 14;
+    private static final int PAIRS = HAND_SIZE / 2;
+    /**
+     * Position of a 1, that is used above the 13.
+     */
+    private static final int HIGH_ONE = 14;
+
+    /**
+     * Dead ends stay valid for every hand, so they are kept when the evaluator is reused, up to this amount.
+     */
+    private static final int MAX_DEAD_ENDS = 1 << 14;
+
+    private static final long RUN = 0;
+    private static final long SET = 1;
+
+    /**
+     * First steps of the discard search besides the runs and sets: dropping the lowest token and seven pairs.
+     */
+    private static final long DROP_STEP = -1;
+    private static final long PAIRS_STEP = -2;
+    /**
+     * Marks the result of a state of the discard search, from which the hand can win. Lower bits are discards.
+     */
+    private static final long FEASIBLE = 1L << 63;
+
+    private final int[][] counts = new int[COLORS][NUMBERS + 1];
+    private final Set<Key> deadEnds = new HashSet<>();
+    /**
+     * Discards found from each state of the discard search. Like dead ends, they stay valid for every hand.
+     */
+    private final Map<Key, Long> discards = new HashMap<>();
+    /**
+     * Combinations of the current search path, each one encoded by {@link #encodeRun} or {@link #encodeSet}.
+     */
+    private final long[] combination = new long[HAND_SIZE / 3 + 1];
+    private int depth;
+    private int jokers;
+    /**
+     * Amount of tokens, which still have to be dropped. Always 0 when checking for a win.
+     */
+    private int drops;
+    /**
+     * Pairs and single tokens of the loaded hand, counted while loading it for the seven pairs check.
+     */
+    private int pairs, singles;
+
+    /**
+     * Checks if the given hand is a winning hand.
+     *
+     * @param hand hand to check
+     * @return true if the hand consists of exactly 14 tokens, which can be split into runs and sets or seven pairs.
+     */
+    boolean isWinning(Hand hand) {
+        return isWinning(hand, null, null);
+    }
+
+    /**
+     * Checks if the given hand is a winning hand, after adding and removing a token. The hand itself is not changed.
+     *
+     * @param hand    hand to check
+     * @param added   token to add, null for none
+     * @param removed token to remove, null for none
+     * @return true if the hand consists of exactly 14 tokens, which can be split into runs and sets or seven pairs.
+     */
+    boolean isWinning(Hand hand, Token added, Token removed) {
+        if (!load(hand, added, removed)) return false;
+        return isWinningLoaded();
+    }
+
+    /**
+     * Checks if the hand given to the last call of {@link #load(Hand, Token, Token)} wins. It stops at the first way
+     * the hand wins and doesn't build a combination.
+     */
+    boolean isWinningLoaded() {
+        return isSevenPairs() || solve();
+    }
+
+    /**
+     * Finds a token, which leaves a winning hand when thrown, after adding a token. The hand is loaded only once and
+     * every discard only changes one count, so trying all 15 discards costs one load and the dead ends found for one
+     * discard are known for the next ones. A joker is tried first, since finishing with it counts double.
+     *
+     * @param hand  hand of the player, 14 tokens with the added one or 15 without
+     * @param added token to add, null for none
+     * @return the first winning discard, null if there is none
+     */
+    Token findWinningDiscard(Hand hand, Token added) {
+        if (hand.size() + (added == null ? 0 : 1) != HAND_SIZE + 1) return null;
+        drops = 0;
+        fill(hand, added, null);
+
+        if (jokers > 0 && winsWithout(Token.joker())) return Token.joker();
+        for (int c = 0; c < COLORS; c++)
+            for (int n = 1; n <= NUMBERS; n++)
+                if (counts[c][n] > 0 && winsWithout(Token.of(c, n))) return Token.of(c, n);
+        return null;
+    }
+
+    /**
+     * Checks if the loaded tokens win without the given one. The counts are the same afterwards.
+     */
+    private boolean winsWithout(Token t) {
+        change(t, -1);
+        depth = 0;
+        boolean won = isWinningLoaded();
+        change(t, 1);
+        return won;
+    }
+
+    /**
+     * Evaluates the given hand after adding and removing a token, see {@link #isWinning(Hand, Token, Token)}.
+     *
+     * @return if the hand wins and the combination found
+     */
+    Evaluation evaluate(Hand hand, Token added, Token removed) {
+        if (!load(hand, added, removed)) return Evaluation.NOT_WINNING;
+        return evaluateLoaded();
+    }
+
+    /**
+     * Evaluates the hand given to the last call of {@link #load(Hand, Token, Token)}.
+     *
+     * @return how the hand wins and the combination found. Seven pairs count more, so they are preferred.
+     */
+    Evaluation evaluateLoaded() {
+        if (isSevenPairs()) return new Evaluation(WinType.SEVEN_PAIRS, getPairs());
+        return solve() ? new Evaluation(WinType.ORDINARY, getCombination()) : Evaluation.NOT_WINNING;
+    }
+
+    /**
+     * Enumerates the winning decompositions of the given hand after adding and removing a token, one after the other.
+     * Nothing is searched in advance: every element is found when it is asked for, so {@code limit}, {@code findFirst}
+     * or {@code anyMatch} stop the search early and the memory used doesn't depend on how many decompositions there
+     * are. The hand itself is not changed, but must not change while the stream is used.
+     * <p>
+     * A seven pairs hand gives its pairs first. Every split into runs and sets is given once, jokers are placed where
+     * they are used. A joker standing in for a token, which is used elsewhere, makes a decomposition of its own.
+     *
+     * @param hand    hand to split
+     * @param added   token to add, null for none
+     * @param removed token to remove, null for none
+     * @return the decompositions, empty if the hand doesn't win
+     */
+    static Stream<List<Token[]>> decompositions(Hand hand, Token added, Token removed) {
+        HandEvaluator evaluator = new HandEvaluator();
+        if (!evaluator.load(hand, added, removed)) return Stream.empty();
+        Spliterator<List<Token[]>> spliterator = Spliterators.spliteratorUnknownSize(evaluator.new Decompositions(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Gives the combination found by the last successful call of {@link #isWinning(Hand)}.
+     *
+     * @return runs and sets of the winning hand, jokers are placed where they are used.
+     */
+    List<Token[]> getCombination() {
+        List<Token[]> res = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) res.add(decode(combination[i]));
+        return res;
+    }
+
+    /**
+     * Fills the count matrix with the tokens of the hand, after adding and removing a token.
+     *
+     * @return false if the result doesn't have exactly 14 tokens or the removed token is not there.
+     */
+    boolean load(Hand hand, Token added, Token removed) {
+        int size = hand.size() + (added == null ? 0 : 1) - (removed == null ? 0 : 1);
+        if (size != HAND_SIZE) return false;
+
+        drops = 0;
+        return fill(hand, added, removed);
+    }
+
+    /**
+     * Checks if the hand, after adding a token, can be made a winning hand by exchanging the given amount of tokens.
+     * Exchanging means to drop a token and to get any token instead, so the hand ends up with 14 tokens again. Hands
+     * with more or less than 14 tokens drop or get the difference on top of that.
+     * <p>
+     * The hand itself is not changed.
+     *
+     * @param hand      hand to check
+     * @param added     token to add, null for none
+     * @param exchanges amount of tokens to exchange
+     * @return true if there is a winning hand within that many exchanges
+     */
+    boolean isWithin(Hand hand, Token added, int exchanges) {
+        int dropped = hand.size() + (added == null ? 0 : 1) - HAND_SIZE + exchanges;
+        if (dropped < 0) return false;
+
+        fill(hand, added, null);
+        jokers += exchanges;
+        drops = dropped;
+        boolean res = isSevenPairs() || solve();
+        drops = 0;
+        return res;
+    }
+
+    /**
+     * Gives the first steps of the search for {@link #discardsWithin(Hand, int, long)}. The steps don't depend on each
+     * other, so they can be searched on different threads.
+     *
+     * @param hand      hand of 15 tokens
+     * @param exchanges amount of tokens to exchange after the discard
+     * @return the steps: the runs and sets of the lowest token, dropping it and seven pairs
+     */
+    long[] discardSteps(Hand hand, int exchanges) {
+        if (!loadDiscards(hand, exchanges)) return new long[0];
+        int lowest = lowest();
+        if (lowest < 0) return new long[] { PAIRS_STEP };
+
+        long[] res = combinationsOf(lowest % COLORS, lowest / COLORS);
+        res = Arrays.copyOf(res, res.length + 2);
+        res[res.length - 2] = DROP_STEP;
+        res[res.length - 1] = PAIRS_STEP;
+        return res;
+    }
+
+    /**
+     * Finds the discards of a hand of 15 tokens, which leave 14 tokens within the given amount of exchanges of winning,
+     * among the ways to win after the given first step.
+     * <p>
+     * The 15 tokens are searched once, with one token more to drop than exchanges. A discard leaves 14 tokens within
+     * the exchanges, if and only if there is a way to win, which drops it. So instead of one search for every discard,
+     * the search goes through all ways to win and collects the tokens dropped on the way. Like in the search for a win,
+     * runs take a real token wherever there is one. The ways, which put a joker there instead and drop the token,
+     * drop a joker at the end instead: so whenever a joker is dropped, every token used on the way could have been
+     * dropped as well.
+     *
+     * @param hand      hand of 15 tokens
+     * @param exchanges amount of tokens to exchange after the discard
+     * @param step      one of the {@link #discardSteps(Hand, int) steps}
+     * @return a bit for the id of every such discard (see {@link Token#getId()}), 0 if there is none
+     */
+    long discardsWithin(Hand hand, int exchanges, long step) {
+        if (!loadDiscards(hand, exchanges)) return 0;
+        long res;
+        if (step == PAIRS_STEP) res = sevenPairsDiscards();
+        else if (step == DROP_STEP) {
+            int lowest = lowest();
+            res = lowest < 0 ? 0 : dropThenSearch(lowest % COLORS, lowest / COLORS);
+        } else res = placeThenSearch(step);
+        drops = 0;
+        return res & ~FEASIBLE;
+    }
+
+    private boolean loadDiscards(Hand hand, int exchanges) {
+        if (hand.size() != HAND_SIZE + 1 || exchanges < 0) return false;
+        if (discards.size() > MAX_DEAD_ENDS) discards.clear();
+        fill(hand, null, null);
+        jokers += exchanges;
+        drops = exchanges + 1;
+        return true;
+    }
+
+    /**
+     * @return number * 4 + color of the lowest token left, -1 if none
+     */
+    private int lowest() {
+        for (int n = 1; n <= NUMBERS; n++)
+            for (int c = 0; c < COLORS; c++)
+                if (counts[c][n] > 0) return n * COLORS + c;
+        return -1;
+    }
+
+    /**
+     * Searches all ways to use the remaining tokens, see {@link #discardsWithin(Hand, int, long)}.
+     *
+     * @return the discards found, with {@link #FEASIBLE} set if there is a way at all
+     */
+    private long searchDiscards() {
+        int lowest = lowest();
+        if (lowest < 0) {
+            if (!jokersLeftOver()) return 0;
+            return FEASIBLE | (drops > 0 ? 1L << Token.JOKER_ID : 0);
+        }
+
+        Key key = key();
+        Long known = discards.get(key);
+        if (known != null) return known;
+
+        int color = lowest % COLORS, number = lowest / COLORS;
+        long res = 0;
+        for (long c : combinationsOf(color, number)) res |= placeThenSearch(c);
+        if (drops > 0) res |= dropThenSearch(color, number);
+
+        discards.put(key, res);
+        return res;
+    }
+
+    private long placeThenSearch(long encoded) {
+        apply(encoded, -1);
+        long rest = searchDiscards();
+        apply(encoded, 1);
+        // a joker dropped at the end could as well have taken the place of any token of the combination
+        return (rest & 1L << Token.JOKER_ID) != 0 ? rest | tokenBits(encoded) : rest;
+    }
+
+    private long dropThenSearch(int color, int number) {
+        counts[color][number]--;
+        drops--;
+        long rest = searchDiscards();
+        drops++;
+        counts[color][number]++;
+        return rest == 0 ? 0 : rest | 1L << (color * NUMBERS + number - 1);
+    }
+
+    /**
+     * @return the tokens, which leave seven pairs within the exchanges when thrown. Seven pairs don't need any drops.
+     */
+    private long sevenPairsDiscards() {
+        long res = 0;
+        for (int c = 0; c < COLORS; c++)
+            for (int n = 1; n <= NUMBERS; n++)
+                if (counts[c][n] > 0) {
+                    Token t = Token.of(c, n);
+                    change(t, -1);
+                    if (isSevenPairs()) res |= 1L << t.getId();
+                    change(t, 1);
+                }
+        if (jokers > 0) {
+            jokers--;
+            if (isSevenPairs()) res |= 1L << Token.JOKER_ID;
+            jokers++;
+        }
+        return res;
+    }
+
+    private boolean fill(Hand hand, Token added, Token removed) {
+        if (deadEnds.size() > MAX_DEAD_ENDS) deadEnds.clear();
+        depth = 0;
+        jokers = hand.jokers();
+        pairs = singles = 0;
+        for (int c = 0; c < COLORS; c++)
+            for (int n = 1; n <= NUMBERS; n++) {
+                int count = counts[c][n] = hand.count(c * NUMBERS + n - 1);
+                pairs += count / 2;
+                singles += count % 2;
+            }
+
+        if (added != null) change(added, 1);
+        return removed == null || change(removed, -1);
+    }
+
+    /**
+     * @return false if the count of the token would become negative
+     */
+    private boolean change(Token t, int delta) {
+        if (t.getColor() == Token.JOKER) {
+            jokers += delta;
+            return jokers >= 0;
+        }
+        int count = counts[t.getColor()][t.getNumber()];
+        pairs += (count + delta) / 2 - count / 2;
+        singles += (count + delta) % 2 - count % 2;
+        counts[t.getColor()][t.getNumber()] = count + delta;
+        return count + delta >= 0;
+    }
+
+    /**
+     * Checks if the loaded tokens and jokers can be paired up into seven pairs. A pair is two equal tokens, a token and
+     * a joker or two jokers. Tokens, which still have to be dropped, are the ones left over. The pairs were counted
+     * while loading, so this doesn't look at the tokens again.
+     */
+    private boolean isSevenPairs() {
+        int matched = Math.min(singles, jokers);
+        return pairs + matched + (jokers - matched) / 2 >= PAIRS;
+    }
+
+    /**
+     * Gives the seven pairs of the loaded hand, which has to be a seven pairs hand.
+     *
+     * @return the pairs, jokers are placed where they are used
+     */
+    private List<Token[]> getPairs() {
+        List<Token[]> res = new ArrayList<>(PAIRS);
+        int left = jokers;
+        for (int c = 0; c < COLORS; c++)
+            for (int n = 1; n <= NUMBERS; n++) {
+                for (int i = 0; i < counts[c][n] / 2; i++) res.add(new Token[] { Token.of(c, n), Token.of(c, n) });
+                if (counts[c][n] % 2 == 1 && left > 0) {
+                    res.add(new Token[] { Token.of(c, n), Token.joker() });
+                    left--;
+                }
+            }
+        for (; left >= 2; left -= 2) res.add(new Token[] { Token.joker(), Token.joker() });
+        return res;
+    }
+
+    /**
+     * Splits the remaining tokens into runs and sets.
+     *
+     * @return true if all remaining tokens (and jokers) could be used.
+     */
+    private boolean solve() {
+        int color = -1, number = 0;
+        for (int n = 1; n <= NUMBERS && color < 0; n++)
+            for (int c = 0; c < COLORS; c++)
+                if (counts[c][n] > 0) {
+                    color = c;
+                    number = n;
+                    break;
+                }
+
+        if (color < 0) return jokersLeftOver();
+
+        Key key = key();
+        if (deadEnds.contains(key)) return false;
+
+        if (trySets(color, number) || tryRuns(color, number) || (number == 1 && tryHighRuns(color))
+                || (drops > 0 && tryDrop(color, number))) return true;
+
+        deadEnds.add(key);
+        return false;
+    }
+
+    /**
+     * Checks if the jokers left over, once all tokens are used, can be dropped or form a run of their own. When
+     * checking for a win there are never more than two, so all of them have to be placed in the runs and sets.
+     */
+    private boolean jokersLeftOver() {
+        int left = jokers - drops;
+        return left == 0 || left >= 3;
+    }
+
+    /**
+     * Drops the given token, so it is exchanged for another one.
+     */
+    private boolean tryDrop(int color, int number) {
+        counts[color][number]--;
+        drops--;
+        boolean won = solve();
+        drops++;
+        counts[color][number]++;
+        return won;
+    }
+
+    /**
+     * Tries all sets containing the token of the given color and number. The other colors of the set are either real
+     * tokens or jokers.
+     */
+    private boolean trySets(int color, int number) {
+        int others = 0;
+        for (int c = 0; c < COLORS; c++)
+            if (c != color && counts[c][number] > 0) others |= 1 << c;
+
+        for (int mask = others; ; mask = (mask - 1) & others) {
+            int real = 1 + Integer.bitCount(mask);
+            for (int size = 3; size <= COLORS; size++) {
+                int used = size - real;
+                if (used < 0 || used > jokers) continue;
+
+                int colors = mask | 1 << color;
+                take(colors, number, -1);
+                jokers -= used;
+                boolean won = place(encodeSet(number, colors, used));
+                jokers += used;
+                take(colors, number, 1);
+                if (won) return true;
+            }
+            if (mask == 0) return false;
+        }
+    }
+
+    private void take(int colors, int number, int delta) {
+        for (int c = 0; c < COLORS; c++)
+            if ((colors & 1 << c) != 0) counts[c][number] += delta;
+    }
+
+    /**
+     * Tries all runs, which contain the given token in its normal position. Since it is the lowest token left, all
+     * positions below it have to be jokers.
+     */
+    private boolean tryRuns(int color, int number) {
+        for (int lead = 0; lead <= Math.min(jokers, number - 1); lead++) {
+            int start = number - lead, end = number, real = 1 << number;
+            jokers -= lead;
+            counts[color][number]--;
+
+            boolean won = false;
+            while (true) {
+                if (end - start >= 2 && (won = place(encodeRun(color, start, end, real)))) break;
+
+                int next = end + 1;
+                if (next > HIGH_ONE || (next == HIGH_ONE && start == 1)) break;
+                if (counts[color][numberAt(next)] > 0) {
+                    counts[color][numberAt(next)]--;
+                    real |= 1 << next;
+                } else if (jokers > 0) jokers--;
+                else break;
+                end = next;
+            }
+
+            release(color, start, end, real);
+            if (won) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tries all runs, which use the 1 of the given color above the 13.
+     */
+    private boolean tryHighRuns(int color) {
+        int start = HIGH_ONE, real = 1 << HIGH_ONE;
+        counts[color][1]--;
+
+        boolean won = false;
+        while (start > 2) {
+            int prev = start - 1;
+            if (counts[color][prev] > 0) {
+                counts[color][prev]--;
+                real |= 1 << prev;
+            } else if (jokers > 0) jokers--;
+            else break;
+            start = prev;
+
+            if (HIGH_ONE - start >= 2 && (won = place(encodeRun(color, start, HIGH_ONE, real)))) break;
+        }
+
+        release(color, start, HIGH_ONE, real);
+        return won;
+    }
+
+    /**
+     * Gives back the tokens and jokers of a run.
+     */
+    private void release(int color, int start, int end, int real) {
+        for (int p = start; p <= end; p++)
+            if ((real & 1 << p) != 0) counts[color][numberAt(p)]++;
+            else jokers++;
+    }
+
+    /**
+     * Puts a combination on the current search path and continues with the remaining tokens.
+     *
+     * @return true if the remaining tokens could be used as well
+     */
+    private boolean place(long encoded) {
+        // a winning hand has at most 14 / 3 combinations, so a path with more (possible with exchanges) is a dead end
+        if (depth == combination.length) return false;
+        combination[depth++] = encoded;
+        if (solve()) return true;
+        depth--;
+        return false;
+    }
+
+    /**
+     * Walks the search for runs and sets with an explicit stack, so it can stop after every decomposition found and
+     * go on from there. Every level holds the combinations, which contain the lowest token left at that level. Unlike
+     * the search for a win, a joker may also stand in for a token, which is there, since that gives another
+     * decomposition.
+     * <p>
+     * If the lowest token is there twice, its second copy only takes combinations, which come after the one of the
+     * first copy, so the same pair of combinations isn't found in both orders.
+     */
+    private final class Decompositions implements Iterator<List<Token[]>> {
+        private final long[][] candidates = new long[combination.length][];
+        private final int[] next = new int[combination.length];
+        /**
+         * Key of the state at each level, null if the level only takes some of the combinations, since then it can't
+         * tell a dead end.
+         */
+        private final Key[] keys = new Key[combination.length];
+        private final boolean[] found = new boolean[combination.length];
+        private final int[] lowest = new int[combination.length];
+        private final LongList list = new LongList();
+        private int levels;
+        private boolean started;
+        private List<Token[]> ready;
+
+        @Override
+        public boolean hasNext() {
+            if (ready == null) ready = advance();
+            return ready != null;
+        }
+
+        @Override
+        public List<Token[]> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            List<Token[]> res = ready;
+            ready = null;
+            return res;
+        }
+
+        /**
+         * Goes on with the search until the next decomposition.
+         *
+         * @return the next decomposition, null if there is none
+         */
+        private List<Token[]> advance() {
+            if (!started) {
+                started = true;
+                boolean pairs = isSevenPairs();
+                if (open()) return getCombination();
+                if (pairs) return getPairs();
+            }
+
+            while (levels > 0) {
+                int level = levels - 1;
+                if (depth > level) {
+                    apply(combination[level], 1);
+                    depth = level;
+                }
+
+                if (next[level] == candidates[level].length) {
+                    if (!found[level] && keys[level] != null) deadEnds.add(keys[level]);
+                    if (found[level] && level > 0) found[level - 1] = true;
+                    levels--;
+                    continue;
+                }
+
+                long c = candidates[level][next[level]++];
+                apply(c, -1);
+                combination[depth++] = c;
+                if (open()) {
+                    found[level] = true;
+                    return getCombination();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Opens a level for the current state.
+         *
+         * @return true if no tokens and jokers are left, so the combinations so far are a decomposition
+         */
+        private boolean open() {
+            int color = -1, number = 0;
+            for (int n = 1; n <= NUMBERS && color < 0; n++)
+                for (int c = 0; c < COLORS; c++)
+                    if (counts[c][n] > 0) {
+                        color = c;
+                        number = n;
+                        break;
+                    }
+
+            if (color < 0) return jokers == 0;
+            if (depth == combination.length) return false;
+
+            Key key = key();
+            if (deadEnds.contains(key)) return false;
+
+            int token = color * NUMBERS + number;
+            boolean again = depth > 0 && lowest[depth - 1] == token;
+            list.size = 0;
+            sets(color, number);
+            for (int lead = 0; lead <= Math.min(jokers, number - 1); lead++)
+                runs(color, number - lead, number, 1 << number, lead);
+            if (number == 1) highRuns(color, HIGH_ONE, 1 << HIGH_ONE, 0);
+
+            long[] res = list.toArray();
+            Arrays.sort(res);
+            int first = again ? firstFrom(res, combination[depth - 1]) : 0;
+
+            int level = levels++;
+            candidates[level] = first == 0 ? res : Arrays.copyOfRange(res, first, res.length);
+            next[level] = 0;
+            keys[level] = again ? null : key;
+            found[level] = false;
+            lowest[level] = token;
+            return false;
+        }
+
+        private int firstFrom(long[] sorted, long from) {
+            int i = 0;
+            while (i < sorted.length && sorted[i] < from) i++;
+            return i;
+        }
+
+        private void sets(int color, int number) {
+            int others = 0;
+            for (int c = 0; c < COLORS; c++)
+                if (c != color && counts[c][number] > 0) others |= 1 << c;
+
+            // a single token with jokers is already a run, so its set would be the same decomposition again
+            for (int mask = others; mask != 0; mask = (mask - 1) & others) {
+                int real = 1 + Integer.bitCount(mask);
+                for (int size = 3; size <= COLORS; size++) {
+                    int used = size - real;
+                    if (used >= 0 && used <= jokers) list.add(encodeSet(number, mask | 1 << color, used));
+                }
+            }
+        }
+
+        /**
+         * Adds all runs from start, which reach at least to end, taking a real token or a joker for every position
+         * after end.
+         */
+        private void runs(int color, int start, int end, int real, int used) {
+            if (end - start >= 2) list.add(encodeRun(color, start, end, real));
+
+            int after = end + 1;
+            if (after > HIGH_ONE || (after == HIGH_ONE && start == 1)) return;
+            if (counts[color][numberAt(after)] > 0) runs(color, start, after, real | 1 << after, used);
+            if (used < jokers) runs(color, start, after, real, used + 1);
+        }
+
+        /**
+         * Adds all runs, which use the 1 above the 13 and reach down to at least start.
+         */
+        private void highRuns(int color, int start, int real, int used) {
+            if (HIGH_ONE - start >= 2) list.add(encodeRun(color, start, HIGH_ONE, real));
+
+            int prev = start - 1;
+            if (prev < 2) return;
+            if (counts[color][prev] > 0) highRuns(color, prev, real | 1 << prev, used);
+            if (used < jokers) highRuns(color, prev, real, used + 1);
+        }
+    }
+
+    /**
+     * Gives the runs and sets containing the token of the given color and number, which the search for a win tries:
+     * sets of every choice of colors and runs, which take a real token wherever there is one.
+     */
+    private long[] combinationsOf(int color, int number) {
+        LongList res = new LongList();
+        int others = 0;
+        for (int c = 0; c < COLORS; c++)
+            if (c != color && counts[c][number] > 0) others |= 1 << c;
+        for (int mask = others; ; mask = (mask - 1) & others) {
+            int real = 1 + Integer.bitCount(mask);
+            for (int size = Math.max(3, real); size <= Math.min(COLORS, real + jokers); size++)
+                res.add(encodeSet(number, mask | 1 << color, size - real));
+            if (mask == 0) break;
+        }
+
+        for (int lead = 0; lead <= Math.min(jokers, number - 1); lead++) {
+            int start = number - lead, end = number, real = 1 << number, used = lead;
+            while (true) {
+                if (end - start >= 2) res.add(encodeRun(color, start, end, real));
+                int next = end + 1;
+                if (next > HIGH_ONE || (next == HIGH_ONE && start == 1)) break;
+                if (counts[color][numberAt(next)] > 0) real |= 1 << next;
+                else if (used < jokers) used++;
+                else break;
+                end = next;
+            }
+        }
+
+        if (number == 1) {
+            int start = HIGH_ONE, real = 1 << HIGH_ONE, used = 0;
+            while (start > 2) {
+                int prev = start - 1;
+                if (counts[color][prev] > 0) real |= 1 << prev;
+                else if (used < jokers) used++;
+                else break;
+                start = prev;
+                if (HIGH_ONE - start >= 2) res.add(encodeRun(color, start, HIGH_ONE, real));
+            }
+        }
+        return res.toArray();
+    }
+
+    /**
+     * @return a bit for the id of every real token of a combination
+     */
+    private static long tokenBits(long encoded) {
+        long res = 0;
+        if ((encoded & 1) == SET) {
+            int number = (int) (encoded >> 1 & 0xF), colors = (int) (encoded >> 5 & 0xF);
+            for (int c = 0; c < COLORS; c++)
+                if ((colors & 1 << c) != 0) res |= 1L << (c * NUMBERS + number - 1);
+            return res;
+        }
+        int color = (int) (encoded >> 1 & 0x3), start = (int) (encoded >> 3 & 0xF), end = (int) (encoded >> 7 & 0xF);
+        int real = (int) (encoded >> 11);
+        for (int p = start; p <= end; p++)
+            if ((real & 1 << p) != 0) res |= 1L << (color * NUMBERS + numberAt(p) - 1);
+        return res;
+    }
+
+    /**
+     * Takes the tokens and jokers of a combination (sign -1) or gives them back (sign 1).
+     */
+    private void apply(long encoded, int sign) {
+        if ((encoded & 1) == SET) {
+            int number = (int) (encoded >> 1 & 0xF), colors = (int) (encoded >> 5 & 0xF);
+            take(colors, number, sign);
+            jokers += sign * (int) (encoded >> 9 & 0x7);
+            return;
+        }
+        int color = (int) (encoded >> 1 & 0x3), start = (int) (encoded >> 3 & 0xF), end = (int) (encoded >> 7 & 0xF);
+        int real = (int) (encoded >> 11);
+        for (int p = start; p <= end; p++)
+            if ((real & 1 << p) != 0) counts[color][numberAt(p)] += sign;
+            else jokers += sign;
+    }
+
+    /**
+     * A growing list of longs, so the combinations of a level aren't boxed.
+     */
+    private static final class LongList {
+        private long[] values = new long[32];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static int numberAt(int position) {
+        return position == HIGH_ONE ? 1 : position;
+    }
+
+    private static long encodeRun(int color, int start, int end, int real) {
+        return RUN | (long) color << 1 | (long) start << 3 | (long) end << 7 | (long) real << 11;
+    }
+
+    private static long encodeSet(int number, int colors, int jokers) {
+        return SET | (long) number << 1 | (long) colors << 5 | (long) jokers << 9;
+    }
+
+    private Token[] decode(long encoded) {
+        if ((encoded & 1) == SET) {
+            int number = (int) (encoded >> 1 & 0xF), colors = (int) (encoded >> 5 & 0xF);
+            int used = (int) (encoded >> 9 & 0x7);
+            Token[] res = new Token[Integer.bitCount(colors) + used];
+            int i = 0;
+            for (int c = 0; c < COLORS; c++) if ((colors & 1 << c) != 0) res[i++] = Token.of(c, number);
+            while (i < res.length) res[i++] = Token.joker();
+            return res;
+        }
+
+        int color = (int) (encoded >> 1 & 0x3), start = (int) (encoded >> 3 & 0xF), end = (int) (encoded >> 7 & 0xF);
+        int real = (int) (encoded >> 11);
+        Token[] res = new Token[end - start + 1];
+        for (int p = start; p <= end; p++)
+            res[p - start] = (real & 1 << p) != 0 ? Token.of(color, numberAt(p)) : Token.joker();
+        return res;
+    }
+
+    /**
+     * Packs the remaining tokens (2 bits per token), jokers and drops into a key. Right after loading a hand, this is
+     * the key of the whole hand.
+     */
+    Key key() {
+        long lo = 0, hi = 0;
+        int i = 0;
+        for (int c = 0; c < COLORS; c++)
+            for (int n = 1; n <= NUMBERS; n++, i++) {
+                if (i < 32) lo |= (long) counts[c][n] << (2 * i);
+                else hi |= (long) counts[c][n] << (2 * (i - 32));
+            }
+        return new Key(lo, hi | (long) jokers << 40 | (long) drops << 48);
+    }
+
+    /**
+     * Tokens of a (partial) hand, see {@link #key()}.
+     */
+    record Key(long lo, long hi) {
+        /**
+         * The counts are small numbers in fixed bit positions, so the default hash of the two longs collides a lot. The
+         * bits are mixed instead, so hands and dead ends spread over the whole table.
+         */
+        @Override
+        public int hashCode() {
+            long h = (lo + hi * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+            return (int) (h ^ h >>> 32);
+        }
+    }
+}
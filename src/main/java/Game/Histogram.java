@@ -0,0 +1,93 @@
+package Game;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts values (e.g. nanoseconds) in a fixed amount of buckets, so recording never allocates and the memory doesn't
+ * grow with the amount of values.
+ * <p>
+ * Like in an HdrHistogram, the buckets are log-linear: values below 64 have a bucket each, above that every power of
+ * two is split into 32 buckets. So every value is known up to about 3 percent, from nanoseconds to hours. Any thread
+ * may record at any time, the percentiles are read without stopping them.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int LINEAR = 2 * SUB;
+    private static final int BUCKETS = LINEAR + (Long.SIZE - SUB_BITS - 2) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a value. Negative values count as 0.
+     *
+     * @param value value to record
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return the average of all values, 0 if there are none
+     */
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @param p percentile between 0 and 100
+     * @return the highest value of the bucket, in which that share of the values is reached (but at most the largest
+     * value recorded), 0 if there are no values
+     */
+    public long percentile(double p) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) total += snapshot[i] = counts.get(i);
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(highest(i), max());
+        }
+        return max();
+    }
+
+    static int bucket(long value) {
+        if (value < LINEAR) return (int) value;
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - 1 - SUB_BITS;
+        return LINEAR + (shift - 1) * SUB + (int) (value >>> shift) - SUB;
+    }
+
+    static long highest(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int shift = (bucket - LINEAR) / SUB + 1;
+        long mantissa = (bucket - LINEAR) % SUB + SUB;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.0f p50=%d p99=%d max=%d", count(), mean(), percentile(50), percentile(99),
+                max());
+    }
+}
@@ -0,0 +1,164 @@
+package Game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The input of one game. The lines are put into a queue, from which the game takes them. So the game waits for a line
+ * until it arrives or the deadline passed, without polling and without a lock shared with other games.
+ * <p>
+ * The lines either come from a {@link Reader}, which is read by a thread of its own, or they are offered directly, e.g.
+ * by a {@link Server.TableHost}. The thread is started, when the game asks for input for the first time, so nothing is
+ * read before that.
+ * <p>
+ * The channel also measures how long the game takes to respond to a line: from the moment the line arrived until the
+ * game asks for the next one, from this or the input of another player.
+ */
+public class InputChannel {
+    /**
+     * Put into the queue, when there is nothing more to read. Compared by identity.
+     */
+    private static final Line END = new Line(null, 0);
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final BufferedReader reader;
+    private final BlockingQueue<Line> lines = new LinkedBlockingQueue<>();
+    private boolean started;
+    private boolean ended;
+
+    /**
+     * Arrival of the line the game is responding to, valid if responding is true.
+     */
+    private long arrived;
+    private boolean responding;
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder responseNanos = new LongAdder();
+    private final LongAccumulator maxResponseNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a channel, whose lines are given by {@link #offer(String)}.
+     */
+    public InputChannel() {
+        this.reader = null;
+        this.started = true;
+    }
+
+    /**
+     * Creates a channel, whose lines are read from the reader.
+     */
+    public InputChannel(Reader reader) {
+        this.reader = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+    }
+
+    /**
+     * Hands a line to the game. May be called from any thread.
+     *
+     * @param line line typed by a player
+     */
+    public void offer(String line) {
+        lines.add(new Line(line, System.nanoTime()));
+    }
+
+    /**
+     * Ends the input. Once the game took all lines offered before, it gets no more input and ends. May be called from
+     * any thread.
+     */
+    public void end() {
+        lines.add(END);
+    }
+
+    /**
+     * Waits for the next line.
+     *
+     * @param timeout maximum time to wait
+     * @return the line, or null if none came in time, the input ended or the waiting thread was interrupted
+     */
+    String next(Duration timeout) {
+        responded();
+        if (ended) return null;
+        if (!started) start();
+
+        try {
+            Line line = lines.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (line == null) return null;
+            if (line == END) {
+                ended = true;
+                return null;
+            }
+            arrived = line.arrived();
+            responding = true;
+            return line.text();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Ends the response to the last line, because the game waits for input again, e.g. of the next player.
+     */
+    void responded() {
+        if (!responding) return;
+        long nanos = System.nanoTime() - arrived;
+        responses.increment();
+        responseNanos.add(nanos);
+        maxResponseNanos.accumulate(nanos);
+        responding = false;
+    }
+
+    /**
+     * @return how many lines the game responded to
+     */
+    public long responses() {
+        return responses.sum();
+    }
+
+    /**
+     * @return average time from the arrival of a line until the game asked for the next one, 0 if there was none
+     */
+    public long meanResponseNanos() {
+        long n = responses.sum();
+        return n == 0 ? 0 : responseNanos.sum() / n;
+    }
+
+    /**
+     * @return time from the arrival of each line until the game asked for the next one, summed up
+     */
+    public long totalResponseNanos() {
+        return responseNanos.sum();
+    }
+
+    /**
+     * @return longest time from the arrival of a line until the game asked for the next one
+     */
+    public long maxResponseNanos() {
+        return maxResponseNanos.get();
+    }
+
+    private void start() {
+        started = true;
+        Thread t = new Thread(this::read, "okey-input-" + THREADS.incrementAndGet());
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void read() {
+        try {
+            String s;
+            while ((s = reader.readLine()) != null) offer(s);
+        } catch (IOException ignored) {
+        } finally {
+            end();
+        }
+    }
+
+    private record Line(String text, long arrived) {}
+}
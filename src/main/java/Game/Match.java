@@ -2,36 +2,61 @@ package Game;
 
 import Output.KonsoleOutput;
 import Output.Output;
-import SpecialSets.Sets;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.groupingBy;
-
 class Match {
+    /**
+     * Winning combinations are only counted up to this amount, since a hand with jokers can have a lot of them.
+     */
+    private static final int MAX_COUNTED = 100;
+
     Game game;
     Player[] players;
     int curr = 0;
-    List<Token> tokens = new ArrayList<>();
-    Token joker = new Token(-1, -1);
-    Token heavy = new Token(Token.HEAVY, -1);
+    Deck deck = new Deck();
+    /**
+     * Seed the deck was shuffled with. A match with the same seed and the same decisions plays out the same way.
+     */
+    final long seed;
+    Token joker = Token.joker();
     Token lastThrown = null;
     Player winner = null;
+    /**
+     * How the winner won, {@link WinType#NONE} while there is no winner.
+     */
+    WinType winType = WinType.NONE;
+    /**
+     * True if the match ended, because there were no tokens left to draw.
+     */
+    boolean exhausted = false;
     Output out;
+    /**
+     * Is told about every draw, throw and win claim of the match.
+     */
+    MatchListener listener = MatchListener.NONE;
+    /**
+     * Decides for each seat. Players without a strategy of their own type their decisions, see {@link ConsoleStrategy}.
+     */
+    private final Strategy[] strategies;
+    /**
+     * Records how long the phases of the match take, the metrics of the game if there is one.
+     */
+    final Metrics metrics;
+    /**
+     * Amount of turns played so far, the first one included.
+     */
+    private int turns;
 
     Match(Player[] players, Output out, Game game) {
-        this.players = players;
-        this.out = out;
-        this.game = game;
-        init();
+        this(players, out, game, new SplittableRandom());
     }
 
     Match(Player[] players, Game game) {
@@ -39,78 +64,133 @@ class Match {
     }
 
     /**
-     * Like the stream().distinct() but differentiates by a given key.
-     *
-     * @param keyExtractor Function to extract the key
-     * @param <T>          Class of the stream.
-     * @return I really don't know
+     * @param random source of the seed, which is used to shuffle the tokens
+     */
+    Match(Player[] players, Output out, Game game, @NotNull SplittableRandom random) {
+        this(players, out, game, random.nextLong());
+    }
+
+    /**
+     * @param seed seed to shuffle the tokens with. The same seed gives the same deck and hands.
+     */
+    Match(Player[] players, Output out, Game game, long seed) {
+        this(players, out, game, seed, game != null ? game.metrics : Metrics.shared());
+    }
+
+    /**
+     * @param metrics records the phases of the match, the deal included
+     */
+    Match(Player[] players, Output out, Game game, long seed, @NotNull Metrics metrics) {
+        this(players, out, game, seed, metrics, null);
+    }
+
+    /**
+     * @param deck pile of a checkpointed match, whose players already hold their hands. Null to shuffle and deal.
      */
-    @Contract (pure = true)
-    public static <T> @NotNull Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
-        Set<Object> seen = ConcurrentHashMap.newKeySet();
-        return t -> seen.add(keyExtractor.apply(t));
+    private Match(Player[] players, Output out, Game game, long seed, Metrics metrics, Deck deck) {
+        this.players = players;
+        this.out = out;
+        this.game = game;
+        this.seed = seed;
+        this.metrics = metrics;
+        strategies = Arrays.stream(players)
+                           .map(p -> p.strategy != null ? p.strategy : new ConsoleStrategy(this, p))
+                           .toArray(Strategy[]::new);
+        if (deck == null) init();
+        else this.deck = deck;
     }
 
     /**
-     * Starts the match.
+     * Starts the match, or continues it, if it was resumed from a checkpoint after its first turn. A resumed match
+     * can't be replayed from its start, so its events aren't told to the listener. The strategies are told in any case,
+     * since they start without memory of the match.
      * <p>
      * Since there is no decision in the first round, to minimize control flow I made an extra Method for the first
      * round.
      */
     public Player start() {
-        if (playFirst() == -1) return null;
-        play();
+        if (turns > 0) listener = MatchListener.NONE;
+        else listener.started(seed, players.length);
+        for (Strategy strategy : strategies) strategy.matchStarted(players.length);
+        if (turns > 0 || playFirst() != -1) play();
+        metrics.matchEnded(turns, winType, winner != null || exhausted);
+        listener.ended(winner == null ? -1 : curr, exhausted);
         return winner;
     }
 
     /**
      * This method initializes the match.
      * <p>
-     * It fills the ArrayList of available tokens and shuffles it and determines a joker. It also distributes the
-     * tokens.
+     * It shuffles the deck with the seed of the match and distributes the tokens.
      * <p>
      * Jokers have color -1 and number -1. For simplification, I took out the choosing joker part for now.
      */
     private void init() {
-        createTokens();
-
-//        joker = tokens.get((int) (Math.random() * tokens.size()));
-
-        tokens.add(new Token(-1, -1));
-        tokens.add(new Token(-1, -1));
-
-        Collections.shuffle(tokens);
+        long start = metrics.start();
+        deck.shuffle(new SplittableRandom(seed));
 
         distributeTokens();
+        metrics.stop(metrics.deal, start);
     }
 
     /**
-     * This method distributes all the tokens. One player gets 15.
-     * <p>
-     * The match saves the list of Tokens each person gets, in case someone tries to cheat.
+     * This method distributes the tokens from the top of the deck. Each player gets 14, the first one 15.
      */
     private void distributeTokens() {
         for (Player p : players) {
-            Token[] temp = new Token[15];
-            for (int i = 0; i < 14; i++) {
-                temp[i] = tokens.get(i);
-                tokens.remove(i);
-            }
-            temp[14] = new Token(Token.HEAVY, -1);
-            p.setHand(temp);
+            Hand hand = new Hand();
+            for (int i = 0; i < 14; i++) hand.add(deck.draw());
+            p.setHand(hand);
         }
-        players[0].getNewToken(tokens.get(0));
-        tokens.remove(0);
+        players[0].getNewToken(deck.draw());
+    }
+
+    /**
+     * Writes the state of the match between two turns: the seed, the current seat, the amount of turns, the thrown
+     * token, the pile and the hand of each seat, all tokens by their id.
+     *
+     * @param data output to write to
+     */
+    void write(DataOutput data) throws IOException {
+        data.writeLong(seed);
+        data.writeByte(curr);
+        data.writeShort(turns);
+        data.writeByte(lastThrown == null ? -1 : lastThrown.getId());
+        writeTokens(data, deck.left());
+        for (Player p : players) writeTokens(data, p.hand.byColor());
     }
 
     /**
-     * This method creates all the tokens.
+     * Reads a match written by {@link #write(DataOutput)} and deals the hands to the players.
+     *
+     * @param data    input to read from
+     * @param players players of the match, in the order of their seats
+     * @return the match, which continues after the turn it was written at
      */
-    private void createTokens() {
-        for (int i = 0; i < 2; i++)                     // duplicate tokens
-            for (int j = 1; j <= 13; j++)               // 13 numbers
-                for (int k = 0; k < 4; k++)             // 4 colors
-                    tokens.add(new Token(k, j));
+    static Match read(DataInput data, Player[] players, Output out, Game game) throws IOException {
+        long seed = data.readLong();
+        int curr = data.readByte();
+        int turns = data.readShort();
+        int lastThrown = data.readByte();
+        Deck deck = new Deck(readTokens(data));
+        for (Player p : players) p.setHand(new Hand(readTokens(data)));
+
+        Match match = new Match(players, out, game, seed, game != null ? game.metrics : Metrics.shared(), deck);
+        match.curr = curr;
+        match.turns = turns;
+        match.lastThrown = lastThrown < 0 ? null : Token.byId(lastThrown);
+        return match;
+    }
+
+    private static void writeTokens(DataOutput data, Token[] tokens) throws IOException {
+        data.writeByte(tokens.length);
+        for (Token t : tokens) data.writeByte(t.getId());
+    }
+
+    private static Token[] readTokens(DataInput data) throws IOException {
+        Token[] tokens = new Token[data.readUnsignedByte()];
+        for (int i = 0; i < tokens.length; i++) tokens[i] = Token.byId(data.readUnsignedByte());
+        return tokens;
     }
 
     /**
@@ -121,8 +201,10 @@ class Match {
     private int playFirst() {
         out.println("Match starts!!");
         showHand();
-        out.println("Please throw the first Token, " + players[curr] + ".");
+        out.println(() -> "Please throw the first Token, " + players[curr] + ".");
+        turns++;
         if (thrownToken() < 0) return -1;
+        turnEnded();
         return 0;
     }
 
@@ -135,139 +217,154 @@ class Match {
             if (giveToken() < 0) return;
             showHand();
             if (thrownToken() < 0) return;
+            turnEnded();
         }
     }
 
+    /**
+     * Lets the game checkpoint the match after a turn without a winner, when nobody is in the middle of a decision.
+     */
+    private void turnEnded() {
+        if (winner == null && game != null) game.checkpoint();
+    }
+
     /**
      * Gives the next Player the turn.
      */
     private void nextPlayer() {
         curr = (curr + 1) % players.length;
-        out.println("It's " + players[curr] + "s turn.");
+        turns++;
+        out.println(() -> "It's " + players[curr] + "s turn.");
         showHand();
-        out.println("Do you want to take the thrown Token {" + lastThrown + "} or get a new one?");
+        out.println(() -> "Do you want to take the thrown Token {" + lastThrown + "} or get a new one?");
     }
 
     /**
-     * Gives a Token to the player depending on what he wants. Method waits for 20 seconds before ending the match,
-     * because of missing response.
+     * Gives a Token to the player depending on what his strategy decides.
      *
      * @return 0 means player got his Token. -1 means player wants to exit or player didn't respond.
      */
     private int giveToken() {
-        String s = game.waitForInput(100);
-        if (s == null) return -1;
+        Strategy strategy = strategies[curr];
+        boolean take = strategy.takeThrown(players[curr].hand, lastThrown);
+        if (strategy.hasLeft()) return -1;
+        return take ? takeThrown() : drawNew();
+    }
 
-        switch (s) {
-            case "new" -> {
-                players[curr].getNewToken(tokens.get(0));
-                tokens.remove(0);
-            }
-            case "thrown" -> players[curr].getNewToken(lastThrown);
-            case "exit" -> {return -1;}
-            default -> {
-                out.println("Please write \"new\" for a new Token or \"thrown\" for the thrown Token.");
-                return giveToken();
-            }
+    /**
+     * Gives the current player a new Token from the pile. If the pile is empty, the match ends without a winner.
+     *
+     * @return 0 means player got his Token. -1 means there are no tokens left.
+     */
+    private int drawNew() {
+        if (deck.isEmpty()) {
+            exhausted = true;
+            out.println("There are no tokens left. The match ends without a winner.");
+            return -1;
         }
+        long start = metrics.start();
+        Token t = deck.draw();
+        players[curr].getNewToken(t);
+        metrics.stop(metrics.draw, start);
+        listener.drew(curr, t);
         return 0;
     }
 
     /**
-     * Tests if a player threw a Token that he has in his hand. If he did, his hand will be adjusted.
+     * Gives the current player the token the previous player threw.
+     *
+     * @return 0, since the thrown token is always there
+     */
+    private int takeThrown() {
+        players[curr].getNewToken(lastThrown);
+        listener.tookThrown(curr, lastThrown);
+        return 0;
+    }
+
+    /**
+     * Lets the current player throw a Token and, if he wants to, claim the win. After a wrong claim a strategy, which
+     * {@link Strategy#retriesWrongClaim() retries}, is asked again. Any other strategy throws the Token as if it hadn't
+     * claimed, so a bot, which keeps claiming wrong, can't stall the match. If it claimed with a Token, which isn't in
+     * its hand, it is asked once more for a discard, without a claim this time.
      *
      * @return 0 on token was thrown (or winner), -1 on player wants to exit or didn't respond.
      */
     private int thrownToken() {
-        String s = game.waitForInput(100);
-        if (s == null) return -1;
-        String[] parts = s.split(" ");
-
-        try {
-            switch (throwAction(parts)) {
-                case -1 -> {return -1;}
-                case 1 -> {return thrownToken();}
-                case 2 -> {return 0;}
+        Strategy strategy = strategies[curr];
+        Hand hand = players[curr].hand;
+        boolean mayClaim = true;
+        while (true) {
+            Token t = strategy.discard(hand);
+            if (strategy.hasLeft()) return -1;
+
+            if (mayClaim && strategy.declareWin(hand, t)) {
+                boolean inHand = isInCurrPlayersHand(t);
+                if (inHand && claimWin(t)) return 0;
+                if (strategy.retriesWrongClaim()) {
+                    out.println(inHand
+                            ? "If you throw the token {" + t + "} it isn't a win. Please throw another token."
+                            : "The thrown Token is not in your Hand. Please throw a Token you have.");
+                    continue;
+                }
+                if (!inHand) {
+                    mayClaim = false;
+                    continue;
+                }
             }
-        } catch (IllegalArgumentException e) {
-            out.println("Invalid Argument. Please write the color of your token and then the number e.g. \"Gelb 5\". For Joker, write \"Joker\".");
-            return thrownToken();
+            if (!isInCurrPlayersHand(t))
+                throw new IllegalStateException(players[curr] + " threw {" + t + "}, which is not in the hand.");
+            discard(t);
+            listener.threw(curr, t);
+            return 0;
         }
-        return 0;
     }
 
     /**
-     * Checks if the thrown Token is in the players hand. If not, ask the player to throw another Token.
+     * Throws the given Token, which is in the hand of the current player, and checks if he won with the remaining
+     * tokens. If not, the Token is put back into the hand.
      *
-     * @param thrown Thrown Token
-     */
-    private void testThrown(Token thrown) {
-        if (!isInCurrPlayersHand(thrown)) {
-            out.println("The thrown Token is not in your Hand. Please throw a Token you have.");
-            thrownToken();
-        } else {
-            out.println("The thrown Token is {" + thrown + "}.");
-            lastThrown = thrown;
-            removeFromCurrPlayersHand(thrown);
+     * @param t Token to throw
+     * @return true if the current player won
+     */
+    private boolean claimWin(Token t) {
+        Token before = lastThrown;
+        discard(t);
+        boolean won = currPlayerWon();
+        listener.claimedWin(curr, t, won);
+        if (won) {
+            winner = players[curr];
+            return true;
         }
+        lastThrown = before;
+        returnToCurrPlayersHand(t);
+        return false;
     }
 
     /**
-     * determines the action to take next, depending on the input of the player
-     *
-     * @param parts input of the player
-     * @return ID Code based on input. -1 on exit, 0 on thrown Token, 1 on show or wrong win and 2 on win.
+     * Takes a Token, which is in the hand of the current player, out of it and makes it the thrown Token.
      */
-    private int throwAction(String @NotNull [] parts) {
-        switch (parts[0]) {
-            case "exit" -> {return -1;}
-
-            case "Joker" -> testThrown(joker);
-
-            case "show" -> {
-                showHand();
-                return 1;
-            }
-
-            case "win" -> {
-                Token t = parts.length == 3 ? new Token(parts[1], Integer.parseInt(parts[2])) : joker;
-                testThrown(t);
-                if (currPlayerWon()) {
-                    winner = players[curr];
-                    return 2;
-                } else {
-                    out.println("If you throw the token {" + t + "} it isn't a win. Please throw another token.");
-                    players[curr].hand[14] = t;
-                    return 1;
-                }
-            }
-
-            default -> {
-                if (parts.length == 2)
-                    testThrown(new Token(parts[0], Integer.parseInt(parts[1])));
-                else
-                    throw new IllegalArgumentException();
-            }
-        }
-        return 0;
+    private void discard(Token thrown) {
+        out.println(() -> "The thrown Token is {" + thrown + "}.");
+        lastThrown = thrown;
+        removeFromCurrPlayersHand(thrown);
     }
 
     /**
-     * Removes a given Token from the current players Hand (by moving it to the last spot).
+     * Removes a given Token from the current players Hand. If there are duplicate ones, only one is removed.
      *
      * @param needle Token to remove from current Players Hand
      */
     private void removeFromCurrPlayersHand(Token needle) {
-        AtomicBoolean b = new AtomicBoolean(false);     // so it only deletes one token if there are duplicate ones
-        players[curr].hand = Arrays.stream(players[curr].hand)
-                                   .map(o -> {
-                                       if (o.equals(needle) && !b.get()) {
-                                           b.set(true);
-                                           return heavy;
-                                       }
-                                       return o;
-                                   })
-                                   .toArray((int value) -> new Token[value]);
+        players[curr].hand.remove(needle);
+    }
+
+    /**
+     * Puts a Token back into the current players Hand.
+     *
+     * @param t Token to put back
+     */
+    private void returnToCurrPlayersHand(Token t) {
+        players[curr].hand.add(t);
     }
 
     /**
@@ -277,205 +374,109 @@ class Match {
      * @return thrown in current players hand?
      */
     private boolean isInCurrPlayersHand(Token needle) {
-        return Arrays.stream(players[curr].hand).anyMatch(t -> t.equals(needle));
+        return players[curr].hand.contains(needle);
     }
 
     /**
-     * Displays the hand of the current player.
+     * Displays the hand of the current player to him, if the player is typing at the console.
      */
     Player[] showHand() {
-        Arrays.sort(players[curr].hand);
-        System.out.println(Arrays.toString(players[curr].hand));
+        if (players[curr].strategy == null)
+            out.printlnTo(players[curr].name, () -> players[curr].hand.toString());
         return players;
     }
 
     /**
-     * Tests if the current Player wins after removing a given token
-     *
-     * @return true if won, false if not.
+     * Tells the current player, which discards are best. Only computed if the player sees it.
      */
-    boolean currPlayerWon() {
-        int jokerCount = countJokersOfCurrPlayer();
-
-        Set<Token[]> combinations = new HashSet<>();
-
-        combinations.addAll(getAllStraightsInCurrPlayersHand());
-        combinations.addAll(getAllFlushesInCurrPlayersHand());
-
-        Set<Set<Token[]>> powerSet = new Sets<Token[]>().powerSetWithMaxSize(combinations, 4);
-        Map<Token[], Set<Token[]>> flatToCombMap = reduce(powerSet);
-
-        flatToCombMap = removeNonWinningCombinations(flatToCombMap, jokerCount);
-
-        printCombination(flatToCombMap);
-
-        return flatToCombMap.size() > 0;
-    }
-
-    private void printCombination(@NotNull Map<Token[], Set<Token[]>> map) {
-        String s = "";
-        if (map.size() > 0)
-            s = map.get(map.keySet().iterator().next()).stream().map(Arrays::toString).collect(Collectors.joining());
-
-
-        out.println(String.format("There %s %d winning combination%s.", map.size() == 1 ? "is" : "are",
-                map.size(), map.size() == 1 ? "" : "s"));
-
-        out.println((map.size() == 1 ? "This combination is " : "One of which is ") + s);
+    void showHints() {
+        Player p = players[curr];
+        out.printlnTo(p.name, () -> {
+            List<DiscardAdvisor.Advice> advice = adviseDiscards(p);
+            int best = advice.get(0).distance();
+            String tokens = advice.stream()
+                                  .filter(a -> a.distance() == best)
+                                  .map(a -> "{" + a.discard() + "}")
+                                  .collect(Collectors.joining(", "));
+            if (best == 0) return "You win by throwing one of " + tokens + ".";
+            return "Throwing one of " + tokens + " leaves you " + best + " token" + (best == 1 ? "" : "s")
+                    + " away from winning.";
+        });
     }
 
     /**
-     * Removes all the remaining combinations, that are not winning from map.
+     * Evaluates every distinct discard of the player in parallel.
      *
-     * @param map    map of all flat Arrays to combined arrays
-     * @param jokers amount of jokers the player has
+     * @param p player of this match with 15 tokens
+     * @return for each distinct token of the hand, how far the rest is from winning, the best discards first
      */
-    private Map<Token[], Set<Token[]>> removeNonWinningCombinations(@NotNull Map<Token[], Set<Token[]>> map, int jokers) {
-        return map.keySet().stream()
-                  .filter(v -> (v.length + jokers - countJokers(v) == 14))
-                  .filter(this::hasNoDuplicates)
-                  .filter(distinctByKey(Arrays::toString))
-                  .collect(Collectors.toMap(Function.identity(), map::get));
+    List<DiscardAdvisor.Advice> adviseDiscards(@NotNull Player p) {
+        return DiscardAdvisor.advise(p.hand, distanceToWin(p), ForkJoinPool.commonPool());
     }
 
     /**
-     * Checks if given Token[] contains duplicates.
+     * Tests if the current Player wins after removing a given token. The thrown token decides, if it is a joker discard
+     * win.
      *
-     * @param t Array to be checked
-     * @return true if there are no duplicates in the array, else false.
+     * @return true if won, false if not.
      */
-    private boolean hasNoDuplicates(Token[] t) {
-        Arrays.sort(t);
-        return IntStream.range(1, t.length).noneMatch(i -> t[i - 1] == t[i]);
-    }
+    boolean currPlayerWon() {
+        long start = metrics.start();
+        Evaluation evaluation = WinCache.shared().evaluate(players[curr].hand, null, null).finishedWith(lastThrown);
+        metrics.stop(metrics.winCheck, start);
 
-    /**
-     * Reduces List<Set<Token[]>> to Set<Token[]>.
-     *
-     * @param powerSet powerSet within which we reduce
-     */
-    private @NotNull Map<Token[], Set<Token[]>> reduce(@NotNull Set<Set<Token[]>> powerSet) {
-        Map<Token[], Set<Token[]>> res = new HashMap<>();
-        for (Set<Token[]> set : powerSet) {
-            Token[] temp = set.stream()
-                              .flatMap(Arrays::stream)
-                              .toArray((int value) -> new Token[value]);
-            if (temp.length < 15 && temp.length > 11)
-                res.put(temp, set);
-        }
-        return res;
+        printCombination(evaluation.combination());
+
+        winType = evaluation.type();
+        return evaluation.winning();
     }
 
     /**
-     * Counts the amount of jokers the current player hand.
+     * Checks if the player wins by throwing the given token. Nothing is printed and the search stops at the first way
+     * the hand wins, so this is the check to use when only the decision matters.
      *
-     * @return amount of jokers the current player hand.
+     * @param p       player of this match
+     * @param discard token to throw
+     * @return true if the token is in the hand and the rest of the hand wins
      */
-    private int countJokersOfCurrPlayer() {
-        return countJokers(players[curr].hand);
+    boolean wins(@NotNull Player p, @NotNull Token discard) {
+        return p.hand.contains(discard) && WinCache.shared().isWinning(p.hand, null, discard);
     }
 
     /**
-     * Counts the amount of jokers in the given Array.
+     * Gives the amount of tokens the player has to exchange to win. The value is updated from the last one after
+     * every draw and throw, so asking every turn is cheap.
      *
-     * @param tokens Arrays to look for jokers in
-     * @return amount of jokers the given Array.
+     * @param p player of this match
+     * @return 0 if the player wins (after throwing a token, if it is his turn), else the amount of tokens to exchange.
      */
-    private int countJokers(Token[] tokens) {
-        return (int) Arrays.stream(tokens).filter(t -> t.equals(joker)).count();
+    int distanceToWin(@NotNull Player p) {
+        return p.winDistance.of(p.hand);
     }
 
     /**
-     * Calculates all straights in the hand of the current player. A straight is an at least 3 token long sequence,
-     * where the tokens have the same color and consecutive numbers.
-     * <p>
-     * Depending on the amount of jokers there might be an offset, where the joker would fit in.
+     * Gives the tokens, which would bring the player one token closer to winning.
      *
-     * @return all straights in the hand of the current player
+     * @param p player of this match
+     * @return the useful tokens, jokers included. Empty if the player wins already.
      */
-    private List<Token[]> getAllStraightsInCurrPlayersHand() {
-        Token[] tokens = players[curr].hand;
-
-        Arrays.sort(tokens);
-
-        Map<Integer, List<Token>> colorMap =
-                Arrays.stream(tokens)
-                      .filter(t -> t.getNumber() >= 0)
-                      .filter(t -> t.getColor() >= 0)
-                      .collect(groupingBy(Token::getColor));
-
-        return colorMap.values()
-                       .stream()
-                       .flatMap(list -> getAllStraightsInColorList(list, countJokersOfCurrPlayer()).stream())
-                       .collect(Collectors.toList());
-    }
-
-    Set<Token[]> getAllStraightsInColorList(@NotNull List<Token> list, int jokerInt) {
-        Set<Token[]> res = new HashSet<>();
-        List<Token> temp = new ArrayList<>();
-
-        int tempJoker = jokerInt, jokerInsert = -1;
-
-        for (int i = 0; i < list.size(); i++) {
-            if (i > 0 && list.get(i).equals(list.get(i - 1)))
-                continue;
-
-            int distanceToNext = list.get((i + 1) % list.size()).getNumber() - list.get(i).getNumber();
-            if (!temp.contains(list.get(i)))
-                temp.add(list.get(i));
-
-            if (distanceToNext < 0)
-                if ((distanceToNext += 13) == 1)
-                    temp.add(list.get(0));
-
-            if (distanceToNext == 2 && tempJoker >= 1) {
-                tempJoker--;
-                jokerInsert = i + 1;
-                temp.add(joker);
-            } else if (distanceToNext == 3 && tempJoker == 2) {
-                tempJoker--;
-                tempJoker--;
-                jokerInsert = i + 1;
-                temp.add(joker);
-                temp.add(joker);
-            }
-
-            if (distanceToNext > tempJoker + 1 || i == list.size() - 1) {
-                if (temp.size() > 2) {
-                    res.addAll(new Sets<Token>().subsetsWithMinSize(Token.class, temp, 3));
-                    i = jokerInsert == -1 ? i : jokerInsert;
-                    jokerInsert = -1;
-                    tempJoker = jokerInt;
-                }
-                temp.clear();
-            }
-        }
-        return res;
+    List<Token> usefulTokens(@NotNull Player p) {
+        return p.winDistance.useful(p.hand);
     }
 
     /**
-     * Calculates all flushes in the hand of the current player. A flush is a 3 to 4 token sized set, whose tokens all
-     * have the same number, big are different in color,
-     *
-     * @return all flushes in the hand of the current player
+     * Prints how many winning combinations the hand of the current player has and one of them. They are counted lazily
+     * and only up to {@link #MAX_COUNTED}.
      */
-    private List<Token[]> getAllFlushesInCurrPlayersHand() {
-        Token[] tokens = players[curr].hand;
+    private void printCombination(@NotNull List<Token[]> combination) {
+        if (!out.isEnabled()) return;
 
-        Map<Integer, List<Token>> numberMap =
-                Arrays.stream(tokens)
-                      .filter(t -> !t.equals(joker))
-                      .filter(t -> !t.equals(heavy))
-                      .collect(groupingBy(Token::getNumber));
+        long size = combination.isEmpty() ? 0 : players[curr].hand.decompositions().limit(MAX_COUNTED).count();
+        String s = combination.stream().map(Arrays::toString).collect(Collectors.joining());
 
-        return numberMap.values()
-                        .stream()
-                        .flatMap(value -> getAllFlushesInNumberList(value).stream())
-                        .collect(Collectors.toList());
-    }
+        out.println(String.format("There %s %s%d winning combination%s.", size == 1 ? "is" : "are",
+                size == MAX_COUNTED ? "at least " : "", size, size == 1 ? "" : "s"));
 
-    Set<Token[]> getAllFlushesInNumberList(List<Token> value) {
-        Set<Token[]> subsets = new Sets<Token>().subsetsWithMinSize(Token.class, value, 3);
-        return subsets.stream().filter(this::hasNoDuplicates).collect(Collectors.toSet());
+        out.println((size == 1 ? "This combination is " : "One of which is ") + s);
     }
 }
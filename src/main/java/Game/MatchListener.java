@@ -0,0 +1,33 @@
+package Game;
+
+/**
+ * Is told everything, which changes the state of a match, e.g. to write it to a {@link MatchLog}. Seats are the
+ * indices of the players in the match.
+ */
+public interface MatchListener {
+    MatchListener NONE = new MatchListener() {};
+
+    /**
+     * @param seed    seed the deck was shuffled with
+     * @param players amount of players
+     */
+    default void started(long seed, int players) {}
+
+    default void drew(int seat, Token t) {}
+
+    default void tookThrown(int seat, Token t) {}
+
+    default void threw(int seat, Token t) {}
+
+    /**
+     * @param won true if the hand without the token was a winning hand. If not, the token went back into the hand.
+     */
+    default void claimedWin(int seat, Token t, boolean won) {}
+
+    /**
+     * @param winner    seat of the winner, -1 if there is none
+     * @param exhausted true if there were no tokens left to draw. A match without winner, which isn't exhausted, was
+     *                  left by a player.
+     */
+    default void ended(int winner, boolean exhausted) {}
+}
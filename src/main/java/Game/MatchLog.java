@@ -0,0 +1,139 @@
+package Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary log of matches. Every event is one record of 16 bytes:
+ * <pre>
+ * byte  type     START, DRAW, TAKE, THROW, CLAIM or END
+ * byte  seat     seat of the player, for END the seat of the winner (-1 for none)
+ * byte  token    id of the token (see {@link Token#getId()}), -1 for none
+ * byte  flag     START: amount of players, CLAIM: 1 if won, END: 1 if exhausted
+ * int   -        0, reserved
+ * long  value    START: seed of the deck, else index of the START record of the match in the file
+ * </pre>
+ * Matches of many games can be written to the same log at the same time, the value field tells them apart. The
+ * records are buffered and written at the end of every match or when the buffer is full. A log can be replayed with
+ * {@link MatchReplayer}.
+ */
+public class MatchLog implements Closeable {
+    static final int RECORD_SIZE = 16;
+    static final byte START = 1;
+    static final byte DRAW = 2;
+    static final byte TAKE = 3;
+    static final byte THROW = 4;
+    static final byte CLAIM = 5;
+    static final byte END = 6;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 4096);
+    /**
+     * Amount of records in the file, including the buffered ones. Guarded by this.
+     */
+    private long records;
+
+    /**
+     * Opens the log. If the file exists, the new matches are appended.
+     *
+     * @param file file of the log
+     */
+    public MatchLog(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.records = channel.size() / RECORD_SIZE;
+    }
+
+    /**
+     * @return a listener, which writes the events of one match to this log
+     */
+    public MatchListener newMatch() {
+        return new Recorder();
+    }
+
+    /**
+     * @return amount of records in the log
+     */
+    public synchronized long records() {
+        return records;
+    }
+
+    /**
+     * @param value START: seed of the deck, else index of the START record of the match
+     * @return index of the record
+     */
+    private synchronized long append(byte type, int seat, Token t, int flag, long value) {
+        if (!buffer.hasRemaining()) flush();
+        long index = records++;
+        buffer.put(type)
+              .put((byte) seat)
+              .put((byte) (t == null ? -1 : t.getId()))
+              .put((byte) flag)
+              .putInt(0)
+              .putLong(value);
+        if (type == END) flush();
+        return index;
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     */
+    public synchronized void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Writes the events of one match.
+     */
+    private final class Recorder implements MatchListener {
+        private long match;
+
+        @Override
+        public void started(long seed, int players) {
+            match = append(START, -1, null, players, seed);
+        }
+
+        @Override
+        public void drew(int seat, Token t) {
+            append(DRAW, seat, t, 0, match);
+        }
+
+        @Override
+        public void tookThrown(int seat, Token t) {
+            append(TAKE, seat, t, 0, match);
+        }
+
+        @Override
+        public void threw(int seat, Token t) {
+            append(THROW, seat, t, 0, match);
+        }
+
+        @Override
+        public void claimedWin(int seat, Token t, boolean won) {
+            append(CLAIM, seat, t, won ? 1 : 0, match);
+        }
+
+        @Override
+        public void ended(int winner, boolean exhausted) {
+            append(END, winner, null, exhausted ? 1 : 0, match);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package Game;
+
+import Output.NullOutput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays the matches of a {@link MatchLog} again and checks, that they play out the same way.
+ * <p>
+ * The log is memory-mapped. Every match is set up with its seed and played by {@link Match} itself, with the decisions
+ * read from the log, so every draw, throw and win claim is checked against the current rules and evaluator. Matches
+ * are independent of each other and are replayed in parallel.
+ */
+public class MatchReplayer {
+    /**
+     * Records per mapped segment, so a segment stays below 2 GB.
+     */
+    private static final int SEGMENT_RECORDS = Integer.MAX_VALUE / MatchLog.RECORD_SIZE;
+
+    private final ByteBuffer[] segments;
+    private final long records;
+
+    /**
+     * Maps the log.
+     *
+     * @param file file of the log
+     */
+    public MatchReplayer(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            records = channel.size() / MatchLog.RECORD_SIZE;
+            segments = new ByteBuffer[(int) ((records + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i * SEGMENT_RECORDS;
+                long size = Math.min(SEGMENT_RECORDS, records - first) * MatchLog.RECORD_SIZE;
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        first * MatchLog.RECORD_SIZE, size);
+                segments[i] = segment;
+            }
+        }
+    }
+
+    /**
+     * Replays all matches of the log with as many threads as there are processors.
+     *
+     * @return how many matches played out the same way
+     */
+    public Result replay() {
+        return replay(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Replays all matches of the log.
+     *
+     * @param parallelism amount of threads to replay with
+     * @return how many matches played out the same way
+     */
+    public Result replay(int parallelism) {
+        long start = System.nanoTime();
+        Collection<long[]> matches = index();
+        LongAdder verified = new LongAdder();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> matches.parallelStream().filter(this::replay).forEach(m -> verified.increment())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return new Result(matches.size(), verified.sum(), records, System.nanoTime() - start);
+    }
+
+    /**
+     * Groups the records by match.
+     *
+     * @return the indices of the records of every match, the START record first
+     */
+    private Collection<long[]> index() {
+        Map<Long, long[]> matches = new LinkedHashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+
+        for (long i = 0; i < records; i++) {
+            long match = type(i) == MatchLog.START ? i : value(i);
+            long[] indices = matches.get(match);
+            if (indices == null) {
+                if (type(i) != MatchLog.START) continue;
+                matches.put(match, indices = new long[16]);
+            }
+            int size = sizes.getOrDefault(match, 0);
+            if (size == indices.length) matches.put(match, indices = Arrays.copyOf(indices, size * 2));
+            indices[size] = i;
+            sizes.put(match, size + 1);
+        }
+
+        matches.replaceAll((match, indices) -> Arrays.copyOf(indices, sizes.get(match)));
+        return matches.values();
+    }
+
+    /**
+     * Replays one match.
+     *
+     * @param indices records of the match
+     * @return true if the match played out like in the log
+     */
+    boolean replay(long[] indices) {
+        Replay replay = new Replay(indices);
+        Player[] players = new Player[flag(indices[0])];
+        for (int i = 0; i < players.length; i++) players[i] = new Player("Seat " + i, replay);
+
+        Match match = new Match(players, NullOutput.INSTANCE, null, value(indices[0]));
+        match.listener = replay;
+        try {
+            match.start();
+        } catch (Diverged d) {
+            return false;
+        } catch (Left l) {
+            return replay.next == indices.length;
+        }
+        return replay.next == indices.length;
+    }
+
+    private ByteBuffer segment(long record) {
+        return segments[(int) (record / SEGMENT_RECORDS)];
+    }
+
+    private int offset(long record) {
+        return (int) (record % SEGMENT_RECORDS) * MatchLog.RECORD_SIZE;
+    }
+
+    private byte type(long record) {
+        return segment(record).get(offset(record));
+    }
+
+    private byte seat(long record) {
+        return segment(record).get(offset(record) + 1);
+    }
+
+    private Token token(long record) {
+        byte id = segment(record).get(offset(record) + 2);
+        return id < 0 ? null : Token.byId(id);
+    }
+
+    private byte flag(long record) {
+        return segment(record).get(offset(record) + 3);
+    }
+
+    private long value(long record) {
+        return segment(record).getLong(offset(record) + 8);
+    }
+
+    /**
+     * Plays all seats of a match with the decisions of the log and checks every event against it.
+     */
+    private final class Replay implements Strategy, MatchListener {
+        private final long[] indices;
+        private int next;
+        private boolean claim;
+
+        Replay(long[] indices) {
+            this.indices = indices;
+        }
+
+        @Override
+        public boolean takeThrown(Hand hand, Token thrown) {
+            byte type = peek();
+            // the deck ran out, so the draw wasn't logged
+            if (type == MatchLog.END && flag(indices[next]) == 1) return false;
+            if (type == MatchLog.END) left();
+            if (type != MatchLog.TAKE && type != MatchLog.DRAW) throw new Diverged();
+            return type == MatchLog.TAKE;
+        }
+
+        @Override
+        public Token discard(Hand hand) {
+            while (peek() == MatchLog.CLAIM && flag(indices[next]) == 0) {
+                // a wrong claim doesn't change the match, but it has to be wrong with the current evaluator as well
+                if (WinCache.shared().isWinning(hand, null, token(indices[next]))) throw new Diverged();
+                next++;
+            }
+
+            byte type = peek();
+            if (type == MatchLog.END) left();
+            if (type != MatchLog.THROW && type != MatchLog.CLAIM) throw new Diverged();
+            Token t = token(indices[next]);
+            if (t == null || !hand.contains(t)) throw new Diverged();
+            claim = type == MatchLog.CLAIM;
+            return t;
+        }
+
+        @Override
+        public boolean declareWin(Hand hand, Token discard) {
+            return claim;
+        }
+
+        @Override
+        public void started(long seed, int players) {
+            expect(MatchLog.START, -1, null);
+        }
+
+        @Override
+        public void drew(int seat, Token t) {
+            expect(MatchLog.DRAW, seat, t);
+        }
+
+        @Override
+        public void tookThrown(int seat, Token t) {
+            expect(MatchLog.TAKE, seat, t);
+        }
+
+        @Override
+        public void threw(int seat, Token t) {
+            expect(MatchLog.THROW, seat, t);
+        }
+
+        @Override
+        public void claimedWin(int seat, Token t, boolean won) {
+            if (!won || flag(indices[next]) != 1) throw new Diverged();
+            expect(MatchLog.CLAIM, seat, t);
+        }
+
+        @Override
+        public void ended(int winner, boolean exhausted) {
+            if (flag(indices[next]) != (exhausted ? 1 : 0)) throw new Diverged();
+            expect(MatchLog.END, winner, null);
+        }
+
+        /**
+         * Ends the replay at the END record of a match, which a player left.
+         */
+        private void left() {
+            if (seat(indices[next]) != -1 || flag(indices[next]) != 0) throw new Diverged();
+            next++;
+            throw new Left();
+        }
+
+        private byte peek() {
+            if (next == indices.length) throw new Diverged();
+            return type(indices[next]);
+        }
+
+        private void expect(byte type, int seat, Token t) {
+            if (peek() != type || seat(indices[next]) != seat || token(indices[next]) != t) throw new Diverged();
+            next++;
+        }
+    }
+
+    /**
+     * Thrown, when the replayed match differs from the log.
+     */
+    private static final class Diverged extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Diverged() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Thrown, when the log says, that a player left the match at this point.
+     */
+    private static final class Left extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Left() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * @param matches  amount of matches in the log
+     * @param verified amount of matches, which played out the same way
+     * @param records  amount of records in the log
+     * @param nanos    time the replay took
+     */
+    public record Result(long matches, long verified, long records, long nanos) {
+        public long diverged() {
+            return matches - verified;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Replayed %d matches (%d records) in %.2f s: %d verified, %d diverged.", matches,
+                    records, nanos / 1e9, verified, diverged());
+        }
+    }
+}
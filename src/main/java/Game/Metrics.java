@@ -0,0 +1,240 @@
+package Game;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures where the time of the matches goes: shuffling and dealing, drawing, evaluating win claims and waiting for
+ * input, as well as how many turns the matches take and how they are won. Times are recorded in {@link Histogram}s
+ * and events in {@link LongAdder}s, so the matches of all threads record at the same time without a lock or any
+ * allocation.
+ * <p>
+ * The metrics of the process are only recorded if it was started with the system property {@code okey.metrics=true}.
+ * Otherwise every measuring point is a single check of a final field, without even reading the clock. They can be
+ * read over JMX (see {@link #register()}) or printed periodically (see {@link #dumpEvery(Duration, PrintStream)}).
+ */
+public class Metrics implements MetricsMBean {
+    /**
+     * Name of the MBean of the shared metrics.
+     */
+    public static final String NAME = "okey:type=Metrics";
+    private static final Metrics SHARED = new Metrics(Boolean.getBoolean("okey.metrics"));
+
+    final boolean enabled;
+    final Histogram deal = new Histogram();
+    final Histogram draw = new Histogram();
+    final Histogram winCheck = new Histogram();
+    final Histogram inputWait = new Histogram();
+    /**
+     * Length of the matches, which ended with a winner or without tokens left, in turns.
+     */
+    final Histogram turns = new Histogram();
+    /**
+     * Amount of matches for each way they ended, {@link WinType#NONE} if there were no tokens left.
+     */
+    private final LongAdder[] wins = new LongAdder[WinType.values().length];
+    private final LongAdder left = new LongAdder();
+
+    /**
+     * @param enabled false to record nothing
+     */
+    public Metrics(boolean enabled) {
+        this.enabled = enabled;
+        for (int i = 0; i < wins.length; i++) wins[i] = new LongAdder();
+    }
+
+    /**
+     * Gives the metrics all matches of this process record to.
+     *
+     * @return the shared metrics
+     */
+    public static Metrics shared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts measuring a phase.
+     *
+     * @return the start, which is given to {@link #stop(Histogram, long)}
+     */
+    long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records how long a phase took.
+     *
+     * @param histogram histogram of the phase
+     * @param start     return value of {@link #start()}
+     */
+    void stop(Histogram histogram, long start) {
+        if (enabled) histogram.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Records the end of a match.
+     *
+     * @param turns amount of turns the match took
+     * @param type  how the match was won, {@link WinType#NONE} if it wasn't
+     * @param ended false if a player left the match
+     */
+    void matchEnded(int turns, @NotNull WinType type, boolean ended) {
+        if (!enabled) return;
+        if (!ended) {
+            left.increment();
+            return;
+        }
+        this.turns.record(turns);
+        wins[type.ordinal()].increment();
+    }
+
+    /**
+     * Registers these metrics at the platform MBean server under the name {@value #NAME}, unless some are already.
+     *
+     * @throws JMException if the metrics can't be registered
+     */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(NAME);
+        if (!server.isRegistered(name)) server.registerMBean(this, name);
+    }
+
+    /**
+     * Prints the metrics periodically on a daemon thread.
+     *
+     * @param period time between two dumps
+     * @param out    stream to print to
+     * @return stops the dumps when closed
+     */
+    public Closeable dumpEvery(@NotNull Duration period, @NotNull PrintStream out) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleAtFixedRate(() -> out.print(this), period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+        return timer::shutdownNow;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getMatches() {
+        long sum = left.sum();
+        for (LongAdder w : wins) sum += w.sum();
+        return sum;
+    }
+
+    @Override
+    public long getMatchesLeft() {
+        return left.sum();
+    }
+
+    @Override
+    public long getOrdinaryWins() {
+        return wins[WinType.ORDINARY.ordinal()].sum();
+    }
+
+    @Override
+    public long getSevenPairsWins() {
+        return wins[WinType.SEVEN_PAIRS.ordinal()].sum();
+    }
+
+    @Override
+    public long getJokerDiscardWins() {
+        return wins[WinType.JOKER_DISCARD.ordinal()].sum();
+    }
+
+    @Override
+    public long getExhaustedMatches() {
+        return wins[WinType.NONE.ordinal()].sum();
+    }
+
+    @Override
+    public double getTurnsMean() {
+        return turns.mean();
+    }
+
+    @Override
+    public long getTurnsP50() {
+        return turns.percentile(50);
+    }
+
+    @Override
+    public long getTurnsMax() {
+        return turns.max();
+    }
+
+    @Override
+    public long getDealP50() {
+        return deal.percentile(50);
+    }
+
+    @Override
+    public long getDealP99() {
+        return deal.percentile(99);
+    }
+
+    @Override
+    public long getDrawP50() {
+        return draw.percentile(50);
+    }
+
+    @Override
+    public long getDrawP99() {
+        return draw.percentile(99);
+    }
+
+    @Override
+    public long getWinCheckP50() {
+        return winCheck.percentile(50);
+    }
+
+    @Override
+    public long getWinCheckP99() {
+        return winCheck.percentile(99);
+    }
+
+    @Override
+    public long getInputWaitP50() {
+        return inputWait.percentile(50);
+    }
+
+    @Override
+    public long getInputWaitP99() {
+        return inputWait.percentile(99);
+    }
+
+    @Override
+    public String dump() {
+        return toString();
+    }
+
+    @Override
+    public String toString() {
+        if (!enabled) return String.format("Metrics are disabled, start with -Dokey.metrics=true.%n");
+        return String.format("""
+                        Matches: %d (%d ordinary, %d seven pairs, %d joker discard, %d without tokens, %d left)
+                        Turns:      %s
+                        Deal:       %s ns
+                        Draw:       %s ns
+                        Win check:  %s ns
+                        Input wait: %s ns
+                        """, getMatches(), getOrdinaryWins(), getSevenPairsWins(), getJokerDiscardWins(),
+                getExhaustedMatches(), getMatchesLeft(), turns, deal, draw, winCheck, inputWait);
+    }
+}
@@ -0,0 +1,48 @@
+package Game;
+
+/**
+ * The metrics of the engine, as they are shown over JMX under the name {@value Metrics#NAME}. All times are in
+ * nanoseconds.
+ */
+public interface MetricsMBean {
+    boolean isEnabled();
+
+    long getMatches();
+
+    long getMatchesLeft();
+
+    long getOrdinaryWins();
+
+    long getSevenPairsWins();
+
+    long getJokerDiscardWins();
+
+    long getExhaustedMatches();
+
+    double getTurnsMean();
+
+    long getTurnsP50();
+
+    long getTurnsMax();
+
+    long getDealP50();
+
+    long getDealP99();
+
+    long getDrawP50();
+
+    long getDrawP99();
+
+    long getWinCheckP50();
+
+    long getWinCheckP99();
+
+    long getInputWaitP50();
+
+    long getInputWaitP99();
+
+    /**
+     * @return all metrics as text, see {@link Metrics#toString()}
+     */
+    String dump();
+}
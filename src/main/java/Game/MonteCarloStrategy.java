@@ -0,0 +1,382 @@
+package Game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * A bot, which picks its discards by information set Monte Carlo tree search (ISMCTS).
+ * <p>
+ * The bot only knows its own hand and the tokens it saw thrown. Every iteration of the search determinizes the rest:
+ * the unseen tokens are shuffled and dealt to the opponents, what is left is the deck. The tree is built over the
+ * discards of the bot only, every node is an information set of the bot, and the discards available in a node depend
+ * on the determinization, so a child is chosen by UCB over the iterations it was available in. Only the few discards,
+ * which fit worst into the hand, are searched. Once a new discard is tried, the match is played out by
+ * {@link GreedyStrategy greedy} players for a few rounds.
+ * <p>
+ * Every move has a strict time budget. The search is root parallel: each worker of a work-stealing pool builds a tree
+ * of its own until the deadline, and the discard visited most over all trees is thrown. An iteration, which would end
+ * after the deadline, is dropped.
+ * <p>
+ * Where the next token comes from and winning are decided like the greedy bot does, since there is nothing to search
+ * for: a winning discard is always thrown.
+ */
+public class MonteCarloStrategy implements Strategy {
+    /**
+     * Rounds played after the last discard of the tree, before the hand is rated.
+     */
+    private static final int HORIZON = 4;
+    /**
+     * Discards searched in every node: the ones, which fit worst into the hand. The others are hardly ever right, and
+     * leaving them out spends the iterations where they matter.
+     */
+    private static final int CANDIDATES = 5;
+    /**
+     * Weight of the exploration term of UCT, unrelated to the rewards below. Lower than the usual sqrt 2, since the
+     * rewards rarely reach 1.
+     */
+    private static final double EXPLORATION = 0.7;
+    private static final double WIN = 1, NO_WINNER = 0.5, LOSS = 0;
+    /**
+     * Rewards of a hand still playing after the horizon: above a draw, if it is one token away from winning, since
+     * such a hand usually wins later, else a bit below, since an opponent may win first.
+     */
+    private static final double ONE_AWAY = 0.7, FURTHER_AWAY = 0.45;
+    /**
+     * Returned instead of a reward, while the match goes on.
+     */
+    private static final double PLAYING = -1;
+    private static final ThreadLocal<Simulation> SIMULATIONS = ThreadLocal.withInitial(Simulation::new);
+
+    private final Duration budget;
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final SplittableRandom random;
+    private final GreedyStrategy greedy = new GreedyStrategy();
+    private final HandEvaluator evaluator = new HandEvaluator();
+    /**
+     * Tokens, which are out of the match as far as the bot knows: the thrown tokens it didn't take and its own discards.
+     * The next player may have taken one of the latter, which the bot can't tell.
+     */
+    private final int[] dead = new int[Token.KINDS];
+    private int opponents = 1;
+    private Token winningDiscard;
+    private Token lastDiscard;
+
+    private final LongAdder rollouts = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+
+    /**
+     * Searches on the common pool with one worker per thread of it.
+     *
+     * @param budget time to search for every discard
+     */
+    public MonteCarloStrategy(@NotNull Duration budget) {
+        this(budget, ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    /**
+     * @param budget time to search for every discard
+     * @param pool   pool to search on, with one worker per thread of it
+     * @param random source of the determinizations
+     */
+    public MonteCarloStrategy(@NotNull Duration budget, @NotNull ForkJoinPool pool, @NotNull SplittableRandom random) {
+        this.budget = budget;
+        this.pool = pool;
+        this.workers = Math.max(1, pool.getParallelism());
+        this.random = random;
+    }
+
+    @Override
+    public void matchStarted(int players) {
+        opponents = Math.max(1, players - 1);
+        Arrays.fill(dead, 0);
+        lastDiscard = null;
+    }
+
+    @Override
+    public boolean takeThrown(Hand hand, Token thrown) {
+        // like the greedy bot, never take back the own discard, so two bots can't pass a token back and forth
+        boolean take = thrown != lastDiscard && greedy.takeThrown(hand, thrown);
+        if (!take && thrown != null) dead[thrown.getId()]++;
+        return take;
+    }
+
+    @Override
+    public Token discard(Hand hand) {
+        winningDiscard = evaluator.findWinningDiscard(hand, null);
+        if (winningDiscard != null) return lastDiscard = winningDiscard;
+
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        Token[] own = hand.byColor().clone();
+        Token[] unseen = unseen(hand);
+        SplittableRandom[] randoms = new SplittableRandom[workers];
+        for (int i = 0; i < workers; i++) randoms[i] = random.split();
+
+        List<Node> roots = pool.submit(() -> IntStream.range(0, workers)
+                                                      .parallel()
+                                                      .mapToObj(i -> SIMULATIONS.get()
+                                                                                .search(own, unseen, opponents,
+                                                                                        randoms[i], deadline))
+                                                      .toList()).join();
+
+        int[] visits = new int[Token.KINDS];
+        double[] rewards = new double[Token.KINDS];
+        for (Node root : roots) {
+            rollouts.add(root.visits);
+            for (Node child : root.children) {
+                visits[child.discard.getId()] += child.visits;
+                rewards[child.discard.getId()] += child.reward;
+            }
+        }
+        searchNanos.add(System.nanoTime() - start);
+
+        // most visits, ties are broken by the reward
+        Token best = null;
+        for (int id = 0; id < Token.KINDS; id++) {
+            if (visits[id] == 0) continue;
+            if (best == null || visits[id] > visits[best.getId()]
+                    || (visits[id] == visits[best.getId()] && rewards[id] > rewards[best.getId()])) best = Token.byId(id);
+        }
+        // without a single iteration in time, the greedy discard is thrown
+        if (best == null) best = greedy.discard(hand);
+        dead[best.getId()]++;
+        return lastDiscard = best;
+    }
+
+    @Override
+    public boolean declareWin(Hand hand, Token discard) {
+        return winningDiscard != null && winningDiscard == discard;
+    }
+
+    /**
+     * @return amount of iterations played out by all searches of this bot
+     */
+    public long rollouts() {
+        return rollouts.sum();
+    }
+
+    /**
+     * @return iterations per second of searching, 0 if the bot didn't search yet
+     */
+    public double rolloutsPerSecond() {
+        long nanos = searchNanos.sum();
+        return nanos == 0 ? 0 : rollouts.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rollouts, %.0f rollouts/s", rollouts(), rolloutsPerSecond());
+    }
+
+    /**
+     * Gives the tokens, which the bot hasn't seen: all tokens of the game without the hand and the dead ones.
+     */
+    private Token[] unseen(Hand hand) {
+        List<Token> res = new ArrayList<>(Deck.SIZE);
+        for (int id = 0; id <= Token.JOKER_ID; id++)
+            for (int i = hand.count(id) + dead[id]; i < 2; i++) res.add(Token.byId(id));
+        return res.toArray(new Token[0]);
+    }
+
+    /**
+     * A node of the tree, reached by throwing its discard in the node above.
+     */
+    private static final class Node {
+        final Token discard;
+        final List<Node> children = new ArrayList<>();
+        int visits;
+        /**
+         * Amount of iterations, in which the discard of the node could be thrown.
+         */
+        int available;
+        double reward;
+
+        Node(Token discard) {
+            this.discard = discard;
+        }
+
+        Node child(Token discard) {
+            for (Node c : children) if (c.discard == discard) return c;
+            return null;
+        }
+
+        double ucb() {
+            return reward / visits + EXPLORATION * Math.sqrt(Math.log(available) / visits);
+        }
+    }
+
+    /**
+     * Plays determinized matches on one thread. Greedy players and the evaluator keep their memos between the moves.
+     */
+    private static final class Simulation {
+        private final HandEvaluator evaluator = new HandEvaluator();
+        /**
+         * Policies of the seats in the rollouts, the bot first.
+         */
+        private final List<GreedyStrategy> players = new ArrayList<>();
+        private final List<Node> path = new ArrayList<>();
+        private Hand[] hands;
+        private Token[] deck;
+        private int next;
+        private Token thrown;
+        private long deadline;
+        private boolean late;
+
+        /**
+         * Builds a tree until the deadline.
+         *
+         * @param own tokens of the bot
+         * @return the root of the tree, whose visits are the iterations played out
+         */
+        Node search(Token[] own, Token[] unseen, int opponents, SplittableRandom random, long deadline) {
+            this.deadline = deadline;
+            while (players.size() <= opponents) players.add(new GreedyStrategy());
+
+            Node root = new Node(null);
+            while (System.nanoTime() < deadline) {
+                determinize(own, unseen, opponents, random);
+                path.clear();
+                path.add(root);
+                late = false;
+                double reward = iterate(root);
+                if (late) break;
+                for (Node n : path) {
+                    n.visits++;
+                    n.reward += reward;
+                }
+            }
+            return root;
+        }
+
+        /**
+         * Deals the unseen tokens to the opponents and the deck. The greedy players start over, since every
+         * determinization is a match of its own.
+         */
+        private void determinize(Token[] own, Token[] unseen, int opponents, SplittableRandom random) {
+            Token[] shuffled = unseen.clone();
+            for (int i = shuffled.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Token t = shuffled[i];
+                shuffled[i] = shuffled[j];
+                shuffled[j] = t;
+            }
+
+            hands = new Hand[opponents + 1];
+            hands[0] = new Hand(own);
+            next = 0;
+            for (int p = 1; p <= opponents; p++) {
+                hands[p] = new Hand();
+                for (int i = 0; i < HandEvaluator.HAND_SIZE && next < shuffled.length; i++) hands[p].add(shuffled[next++]);
+            }
+            deck = shuffled;
+            for (int p = 0; p <= opponents; p++) players.get(p).matchStarted(hands.length);
+        }
+
+        /**
+         * Walks down the tree, adds one node and plays the match out from there.
+         *
+         * @return the reward of the iteration for the bot
+         */
+        private double iterate(Node node) {
+            while (true) {
+                Node chosen = select(node);
+                boolean expanded = chosen.visits == 0;
+                path.add(chosen);
+
+                double end = throwAndPlayRound(chosen.discard);
+                if (end != PLAYING) return end;
+                if (expanded) return rollout();
+                node = chosen;
+            }
+        }
+
+        /**
+         * Chooses the discard of the bot in a node: a discard, which wasn't tried yet, or the best one by UCB among
+         * those, which the hand of this determinization can throw.
+         */
+        private Node select(Node node) {
+            Node best = null, fresh = null;
+            for (Token t : candidates(hands[0])) {
+                Node c = node.child(t);
+                if (c == null) {
+                    c = new Node(t);
+                    node.children.add(c);
+                }
+                c.available++;
+                if (c.visits == 0) {
+                    if (fresh == null) fresh = c;
+                } else if (best == null || c.ucb() > best.ucb()) best = c;
+            }
+            return fresh != null ? fresh : best;
+        }
+
+        /**
+         * Gives the discards of the hand, which have the fewest neighbours (see {@link GreedyStrategy}). Jokers are
+         * never thrown, unless they win.
+         */
+        private List<Token> candidates(Hand hand) {
+            List<Token> res = new ArrayList<>(CANDIDATES + 1);
+            for (int id = 0; id < Token.JOKER_ID; id++)
+                if (hand.count(id) > 0) res.add(Token.byId(id));
+            res.sort(Comparator.comparingInt(t -> GreedyStrategy.neighbours(hand, t)));
+            return res.size() > CANDIDATES ? res.subList(0, CANDIDATES) : res;
+        }
+
+        /**
+         * Plays greedily for a few rounds and rates the hand of the bot, if nobody won.
+         */
+        private double rollout() {
+            GreedyStrategy bot = players.get(0);
+            for (int round = 0; round < HORIZON; round++) {
+                Token t = bot.discard(hands[0]);
+                if (bot.declareWin(hands[0], t)) return WIN;
+                double end = throwAndPlayRound(t);
+                if (end != PLAYING) return end;
+            }
+            return evaluator.isWithin(hands[0], null, 1) ? ONE_AWAY : FURTHER_AWAY;
+        }
+
+        /**
+         * The bot throws the token, every opponent plays a turn and the bot gets its next token.
+         *
+         * @return the reward, if the match ended meanwhile, else {@link #PLAYING}
+         */
+        private double throwAndPlayRound(Token discard) {
+            if (System.nanoTime() > deadline) {
+                late = true;
+                return LOSS;
+            }
+            hands[0].remove(discard);
+            thrown = discard;
+
+            for (int p = 1; p < hands.length; p++) {
+                GreedyStrategy opponent = players.get(p);
+                if (!opponent.takeThrown(hands[p], thrown)) {
+                    if (next == deck.length) return NO_WINNER;
+                    hands[p].add(deck[next++]);
+                } else hands[p].add(thrown);
+
+                Token t = opponent.discard(hands[p]);
+                if (opponent.declareWin(hands[p], t)) return LOSS;
+                hands[p].remove(t);
+                thrown = t;
+            }
+
+            if (players.get(0).takeThrown(hands[0], thrown)) hands[0].add(thrown);
+            else if (next == deck.length) return NO_WINNER;
+            else hands[0].add(deck[next++]);
+
+            return evaluator.findWinningDiscard(hands[0], null) != null ? WIN : PLAYING;
+        }
+    }
+}
@@ -2,18 +2,48 @@ package Game;
 
 public class Player {
     String name;
-    Token[] hand;
+    Hand hand = new Hand();
+    /**
+     * Makes the decisions of the player. If null, the player types the decisions at the console, which the match turns
+     * into a {@link ConsoleStrategy}.
+     */
+    final Strategy strategy;
+    /**
+     * How far the hand is from winning, see {@link Match#distanceToWin(Player)}.
+     */
+    final WinDistance winDistance = new WinDistance();
+    /**
+     * Input of the player, e.g. his network connection. If null, the player types at the input of the game.
+     */
+    InputChannel input;
 
     public Player(String name) {
+        this(name, null);
+    }
+
+    public Player(String name, Strategy strategy) {
         this.name = name;
+        this.strategy = strategy;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public InputChannel getInput() {
+        return input;
+    }
+
+    public void setInput(InputChannel input) {
+        this.input = input;
     }
 
-    public void setHand(Token[] hand) {
+    public void setHand(Hand hand) {
         this.hand = hand;
     }
 
     public void getNewToken(Token t) {
-        hand[14] = t;
+        hand.add(t);
     }
 
     @Override
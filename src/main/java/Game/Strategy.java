@@ -0,0 +1,64 @@
+package Game;
+
+/**
+ * Makes the decisions of a player. The match asks for them directly with tokens, so a bot never formats or parses any
+ * text. A player typing at the console is a strategy as well, see {@link ConsoleStrategy}.
+ * <p>
+ * The hand given to the methods is the players hand itself and must not be changed.
+ */
+public interface Strategy {
+
+    /**
+     * Tells the strategy, that a match starts. A strategy, which remembers what it saw, starts over.
+     *
+     * @param players amount of players of the match, this one included
+     */
+    default void matchStarted(int players) {}
+
+    /**
+     * Decides where the next token comes from.
+     *
+     * @param hand   hand of the player (14 tokens)
+     * @param thrown token the previous player threw
+     * @return true to take the thrown token, false to get a new one
+     */
+    boolean takeThrown(Hand hand, Token thrown);
+
+    /**
+     * Decides which token to throw.
+     *
+     * @param hand hand of the player (15 tokens)
+     * @return a token of the hand
+     */
+    Token discard(Hand hand);
+
+    /**
+     * Decides if the player claims to win with the remaining 14 tokens after throwing the given token. If they don't
+     * win, the token is thrown like any discard, unless the strategy {@link #retriesWrongClaim() retries}.
+     *
+     * @param hand    hand of the player (15 tokens)
+     * @param discard token returned by {@link #discard(Hand)}
+     * @return true to claim the win
+     */
+    boolean declareWin(Hand hand, Token discard);
+
+    /**
+     * Tells if the player is asked for a discard again after a wrong claim, e.g. a person, who mistyped. A claimed
+     * token, which isn't in the hand, is never thrown: without retries the player is asked once more, without a claim.
+     *
+     * @return true to keep the token in the hand and choose again, false to throw it like any discard
+     */
+    default boolean retriesWrongClaim() {
+        return false;
+    }
+
+    /**
+     * Tells if the player left the match during his last decision, e.g. because he exited or didn't answer in time.
+     * The match ends then and the decision is ignored.
+     *
+     * @return true if the player left
+     */
+    default boolean hasLeft() {
+        return false;
+    }
+}
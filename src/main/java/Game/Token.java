@@ -2,6 +2,11 @@ package Game;
 
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * A token of the game. There is exactly one instance for every kind of token (52 numbered ones, the joker and the
+ * heavy), which are created when the class is loaded. Tokens are only obtained through {@link #of(int, int)},
+ * {@link #parse(String)} and {@link #byId(int)}, so they can be compared with ==.
+ */
 public class Token implements Comparable {
     final static int JOKER = -1;
     final static int GELB = 0;
@@ -14,23 +19,94 @@ public class Token implements Comparable {
      */
     final static int HEAVY = 4;
 
+    /**
+     * Amount of distinct tokens: 4 colors with 13 numbers, the joker and the heavy.
+     */
+    static final int KINDS = 54;
+    static final int JOKER_ID = 52;
+    static final int HEAVY_ID = 53;
+
+    private static final String[] COLOR_NAMES = { "Gelb", "Rot", "Blau", "Schwarz" };
+    private static final Token[] TOKENS = new Token[KINDS];
+
+    static {
+        for (int c = GELB; c <= SCHWARZ; c++)
+            for (int n = 1; n <= 13; n++)
+                TOKENS[c * 13 + n - 1] = new Token(c, n, c * 13 + n - 1, COLOR_NAMES[c] + " " + n);
+        TOKENS[JOKER_ID] = new Token(JOKER, -1, JOKER_ID, "Joker");
+        TOKENS[HEAVY_ID] = new Token(HEAVY, -1, HEAVY_ID, "Heavy");
+    }
+
     private final int color;
     private final int number;
+    private final int id;
+    private final String name;
 
-    Token(int color, int number) {
+    private Token(int color, int number, int id, String name) {
         this.color = color;
         this.number = number;
+        this.id = id;
+        this.name = name;
     }
 
-    Token(String color, int number) {
-        this.number = number;
-        switch (color) {
-            case "Gelb" -> this.color = GELB;
-            case "Rot" -> this.color = ROT;
-            case "Blau" -> this.color = BLAU;
-            case "Schwarz" -> this.color = SCHWARZ;
-            default -> throw new IllegalArgumentException();
-        }
+    /**
+     * Gives the token with the given color and number. Jokers and heavies can be given with any number.
+     *
+     * @param color  color of the token
+     * @param number number of the token (1 to 13)
+     * @return the token
+     * @throws IllegalArgumentException if there is no such token
+     */
+    public static Token of(int color, int number) {
+        if (color == JOKER) return TOKENS[JOKER_ID];
+        if (color == HEAVY) return TOKENS[HEAVY_ID];
+        if (color < GELB || color > SCHWARZ || number < 1 || number > 13) throw new IllegalArgumentException();
+        return TOKENS[color * 13 + number - 1];
+    }
+
+    /**
+     * Gives the token with the given id.
+     *
+     * @param id id of the token (see {@link #getId()})
+     * @return the token
+     */
+    static Token byId(int id) {
+        return TOKENS[id];
+    }
+
+    /**
+     * Reads a token the way it is printed, e.g. "Gelb 5" or "Joker".
+     *
+     * @param s token as string
+     * @return the token
+     * @throws IllegalArgumentException if there is no such token
+     */
+    public static Token parse(@NotNull String s) {
+        if (s.equals("Joker")) return TOKENS[JOKER_ID];
+
+        int space = s.indexOf(' ');
+        if (space < 0) throw new IllegalArgumentException();
+        return parse(s.substring(0, space), s.substring(space + 1));
+    }
+
+    /**
+     * Reads a token from its color name and number, e.g. "Gelb" and "5".
+     *
+     * @return the token
+     * @throws IllegalArgumentException if there is no such token
+     */
+    static Token parse(@NotNull String color, @NotNull String number) {
+        for (int c = GELB; c <= SCHWARZ; c++)
+            if (COLOR_NAMES[c].equals(color)) return of(c, Integer.parseInt(number));
+        throw new IllegalArgumentException();
+    }
+
+    static Token joker() {
+        return TOKENS[JOKER_ID];
+    }
+
+    static Token heavy() {
+        return TOKENS[HEAVY_ID];
     }
 
     public static int compareToStatic(Object o1, Object o2) {
@@ -45,30 +121,27 @@ public class Token implements Comparable {
         return number;
     }
 
-    boolean equals(Token s) {
-        return (s.getColor() == color && s.getNumber() == number);
+    /**
+     * Gives the id of the token. Numbered tokens have the ids 0 to 51 (color * 13 + number - 1), the joker has 52 and
+     * the heavy 53.
+     *
+     * @return the id of the token
+     */
+    int getId() {
+        return id;
     }
 
     Token successor() {
-        return new Token(this.color, this.number + 1 == 14 ? 1 : this.number + 1);
+        return of(this.color, this.number + 1 == 14 ? 1 : this.number + 1);
     }
 
     Token predecessor() {
-        return new Token(this.color, this.number - 1 == 0 ? 1 : this.number - 1);
+        return of(this.color, this.number - 1 == 0 ? 13 : this.number - 1);
     }
 
     @Override
     public String toString() {
-        String s = "";
-        switch (color) {
-            case GELB -> s += "Gelb ";
-            case ROT -> s += "Rot ";
-            case BLAU -> s += "Blau ";
-            case SCHWARZ -> s += "Schwarz ";
-            case JOKER -> {return "Joker";}
-            case HEAVY -> {return "Heavy";}
-        }
-        return s + number;
+        return name;
     }
 
     @Override
@@ -0,0 +1,99 @@
+package Game;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Remembers the evaluations of hands, so a hand which comes up again doesn't have to be evaluated again.
+ * <p>
+ * Hands are identified by the count of each token and the jokers, so the order in which tokens were drawn doesn't
+ * matter. The cache is thread-safe and holds at most a fixed amount of hands; the least recently used ones are evicted
+ * first. The size of the shared cache can be set with the system property {@code okey.winCache.size}.
+ */
+public class WinCache {
+    private static final WinCache SHARED = new WinCache(Integer.getInteger("okey.winCache.size", 1 << 16));
+    private static final ThreadLocal<HandEvaluator> EVALUATORS = ThreadLocal.withInitial(HandEvaluator::new);
+
+    private final Cache<HandEvaluator.Key, Evaluation> cache;
+
+    /**
+     * @param maximumSize maximum amount of hands to remember
+     */
+    WinCache(long maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Gives the cache shared by all matches of this process.
+     *
+     * @return the shared cache
+     */
+    public static WinCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Evaluates the given hand after adding and removing a token. The hand itself is not changed.
+     *
+     * @param hand    hand to evaluate
+     * @param added   token to add, null for none
+     * @param removed token to remove, null for none
+     * @return the remembered evaluation, or a new one if the hand wasn't evaluated before
+     */
+    Evaluation evaluate(Hand hand, Token added, Token removed) {
+        HandEvaluator evaluator = EVALUATORS.get();
+        if (!evaluator.load(hand, added, removed)) return Evaluation.NOT_WINNING;
+
+        HandEvaluator.Key key = evaluator.key();
+        Evaluation res = cache.getIfPresent(key);
+        if (res == null) {
+            res = evaluator.evaluateLoaded();
+            cache.put(key, res);
+        }
+        return res;
+    }
+
+    /**
+     * Checks if the given hand wins after adding and removing a token, without building or remembering a combination.
+     * A remembered evaluation is used if there is one, else the search stops at the first way the hand wins.
+     *
+     * @param hand    hand to check
+     * @param added   token to add, null for none
+     * @param removed token to remove, null for none
+     * @return true if the hand wins
+     */
+    boolean isWinning(Hand hand, Token added, Token removed) {
+        HandEvaluator evaluator = EVALUATORS.get();
+        if (!evaluator.load(hand, added, removed)) return false;
+
+        Evaluation res = cache.getIfPresent(evaluator.key());
+        return res != null ? res.winning() : evaluator.isWinningLoaded();
+    }
+
+    public long hits() {
+        return cache.stats().hitCount();
+    }
+
+    public long misses() {
+        return cache.stats().missCount();
+    }
+
+    public long evictions() {
+        return cache.stats().evictionCount();
+    }
+
+    /**
+     * @return amount of hands currently remembered
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats s = cache.stats();
+        return String.format("Win cache: %d hands, %d hits, %d misses (%.1f%% hit rate), %d evictions.", cache.size(),
+                s.hitCount(), s.missCount(), s.hitRate() * 100, s.evictionCount());
+    }
+}
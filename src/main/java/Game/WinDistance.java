@@ -0,0 +1,89 @@
+package Game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of how far the hand of a player is from winning: the amount of tokens, which have to be exchanged, until
+ * the hand can be split into runs and sets or seven pairs. A hand of 15 tokens with a winning discard is 0 tokens away.
+ * <p>
+ * Drawing a token brings the hand at most one token closer and throwing one moves it at most one token away. So after
+ * a draw and a throw, the distance is known up to three values and only those have to be checked, instead of searching
+ * from 0 upwards. The tracker reads the changes from the {@link Hand#modCount() modCount} and the size of the hand,
+ * so it is updated the next time it is asked, but doesn't cost anything while nobody asks.
+ */
+class WinDistance {
+    private final HandEvaluator evaluator = new HandEvaluator();
+    private Hand hand;
+    private int modCount;
+    private int size;
+    /**
+     * The distance is at least this.
+     */
+    private int lower;
+    /**
+     * The distance is at most this.
+     */
+    private int upper;
+    private List<Token> useful;
+    private int usefulModCount;
+
+    /**
+     * Gives the amount of tokens the hand has to exchange to win.
+     *
+     * @param hand hand of the player
+     * @return 0 if the hand wins (after throwing a token, if it has 15), else the amount of tokens to exchange.
+     */
+    int of(Hand hand) {
+        update(hand);
+        while (lower < upper) {
+            if (evaluator.isWithin(hand, null, lower)) upper = lower;
+            else lower++;
+        }
+        return lower;
+    }
+
+    /**
+     * Gives the tokens, which bring the hand one token closer to winning when it gets them. The list is computed once
+     * for every state of the hand.
+     *
+     * @param hand hand of the player
+     * @return the useful tokens, jokers included. Empty if the hand wins already.
+     */
+    List<Token> useful(Hand hand) {
+        int distance = of(hand);
+        if (useful != null && usefulModCount == modCount) return useful;
+
+        List<Token> res = new ArrayList<>();
+        if (distance > 0) {
+            for (int id = 0; id < Token.JOKER_ID; id++)
+                if (evaluator.isWithin(hand, Token.byId(id), distance - 1)) res.add(Token.byId(id));
+            // a joker can stand in for any exchanged token
+            res.add(Token.joker());
+        }
+
+        usefulModCount = modCount;
+        return useful = List.copyOf(res);
+    }
+
+    /**
+     * Narrows the bounds of the distance by the changes of the hand since the last call. If the hand is a different one
+     * or changed in a way, which can't be told apart, the bounds start over.
+     */
+    private void update(Hand hand) {
+        int changes = hand.modCount() - modCount;
+        int grown = hand.size() - size;
+        if (hand != this.hand || changes < Math.abs(grown) || (changes - grown) % 2 != 0) {
+            this.hand = hand;
+            lower = 0;
+            upper = Math.max(0, HandEvaluator.HAND_SIZE - hand.jokers());
+            useful = null;
+        } else {
+            int added = (changes + grown) / 2, removed = (changes - grown) / 2;
+            lower = Math.max(0, lower - added);
+            upper = Math.min(upper + removed, Math.max(0, HandEvaluator.HAND_SIZE - hand.jokers()));
+        }
+        modCount = hand.modCount();
+        size = hand.size();
+    }
+}
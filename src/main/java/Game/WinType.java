@@ -0,0 +1,36 @@
+package Game;
+
+/**
+ * How a hand wins. Every other player of the match loses the points of the win.
+ */
+public enum WinType {
+    /**
+     * The hand doesn't win.
+     */
+    NONE(0),
+    /**
+     * Runs and sets.
+     */
+    ORDINARY(2),
+    /**
+     * Seven pairs, which counts double.
+     */
+    SEVEN_PAIRS(4),
+    /**
+     * The winner threw a joker to finish, which counts double.
+     */
+    JOKER_DISCARD(4);
+
+    private final int points;
+
+    WinType(int points) {
+        this.points = points;
+    }
+
+    /**
+     * @return the points every other player loses
+     */
+    public int points() {
+        return points;
+    }
+}
@@ -1,20 +1,170 @@
 import Game.Game;
+import Game.GreedyStrategy;
+import Game.MatchLog;
+import Game.MatchReplayer;
+import Game.Metrics;
+import Game.MonteCarloStrategy;
 import Game.Player;
+import Game.WinCache;
+import Output.AsyncOutput;
+import Server.LoadClient;
+import Server.TableHost;
+import Server.TableServer;
+import Simulation.Simulator;
+import Simulation.Tournament;
 
+import javax.management.JMException;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
 
 public class Main {
+    /**
+     * Seats, whose name starts with this, are played by a {@link MonteCarloStrategy}.
+     */
+    private static final String BOT = "bot:";
+    private static final Duration BOT_BUDGET = Duration.ofMillis(200);
+
+    /**
+     * With {@code -Dokey.metrics=true} the metrics are shown over JMX and printed to the error stream every
+     * {@code okey.metrics.period} seconds (10 by default) and at the end.
+     */
     public static void main(String[] args) throws IOException, InterruptedException {
+        Metrics metrics = Metrics.shared();
+        if (!metrics.isEnabled()) {
+            run(args);
+            return;
+        }
+        try {
+            metrics.register();
+        } catch (JMException e) {
+            System.err.println("The metrics can't be shown over JMX: " + e.getMessage());
+        }
+        Duration period = Duration.ofSeconds(Long.getLong("okey.metrics.period", 10));
+        Closeable dump = metrics.dumpEvery(period, System.err);
+        try {
+            run(args);
+        } finally {
+            dump.close();
+            System.err.print(metrics);
+        }
+    }
+
+    private static void run(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            simulate(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            tournament(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--replay")) {
+            replay(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            serve(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--load")) {
+            load(args);
+            return;
+        }
+
         Player[] playerList = new Player[args.length];
 
-        for (int i = 0; i < args.length; i++) playerList[i] = new Player(args[i]);
+        for (int i = 0; i < args.length; i++)
+            playerList[i] = args[i].startsWith(BOT)
+                    ? new Player(args[i].substring(BOT.length()), new MonteCarloStrategy(BOT_BUDGET))
+                    : new Player(args[i]);
+
+        try (AsyncOutput out = new AsyncOutput()) {
+            Game game = new Game(args.length != 0 ? playerList : null, new InputStreamReader(System.in), out);
+            game.start();
+        }
+        for (Player p : playerList)
+            if (p.getStrategy() instanceof MonteCarloStrategy bot) System.out.println(p + ": " + bot);
+    }
+
+    /**
+     * Plays games between bots without any output and prints how fast they were played.
+     *
+     * @param args --simulate [games] [players] [log file, - for none] [seed]
+     */
+    private static void simulate(String[] args) throws IOException {
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seats = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        Simulator simulator = new Simulator(seats, GreedyStrategy::new);
+        MatchLog log = args.length > 3 && !args[3].equals("-") ? new MatchLog(Path.of(args[3])) : null;
+        simulator.setLog(log);
+        if (args.length > 4) simulator.setSeed(Long.parseLong(args[4]));
+        System.out.println(simulator.run(games));
+        System.out.println(WinCache.shared());
+        if (log != null) log.close();
+    }
+
+    /**
+     * Ranks the greedy bot and the Monte Carlo bot with different time budgets by Elo and prints the standings.
+     *
+     * @param args --tournament [games per pairing] [players] [results file, - for none] [seed]
+     */
+    private static void tournament(String[] args) throws IOException {
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int seats = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        Tournament tournament = new Tournament(seats);
+        tournament.add("Greedy", GreedyStrategy::new);
+        for (int ms : new int[] { 1, 4, 16 })
+            tournament.add("MonteCarlo" + ms, () -> new MonteCarloStrategy(Duration.ofMillis(ms)));
+        if (args.length > 3 && !args[3].equals("-")) tournament.setResults(Path.of(args[3]));
+        if (args.length > 4) tournament.setSeed(Long.parseLong(args[4]));
+        System.out.print(tournament.run(games));
+    }
+
+    /**
+     * Replays all matches of a log and prints how many of them played out the same way.
+     *
+     * @param args --replay [log file]
+     */
+    private static void replay(String[] args) throws IOException {
+        System.out.println(new MatchReplayer(Path.of(args.length > 1 ? args[1] : "matches.log")).replay());
+    }
+
+    /**
+     * Lets players join games over TCP, until the process is stopped.
+     *
+     * @param args --serve [port] [players per table]
+     */
+    private static void serve(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 4711;
+        int seats = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        TableServer server = new TableServer(new TableHost(), seats, Runtime.getRuntime().availableProcessors());
+        System.out.println("Listening on port " + server.start(port) + ".");
+        Thread.currentThread().join();
+    }
 
-        Game game;
-        if (args.length != 0)
-            game = new Game(playerList);
-        else
-            game = new Game();
+    /**
+     * Starts a server on a free port and plays against it with many connections over the loopback interface.
+     *
+     * @param args --load [connections] [turns per player]
+     */
+    private static void load(String[] args) throws IOException, InterruptedException {
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int turns = args.length > 2 ? Integer.parseInt(args[2]) : 20;
 
-        game.start();
+        try (TableHost host = new TableHost();
+             TableServer server = new TableServer(host, 2, Runtime.getRuntime().availableProcessors())) {
+            int port = server.start(0);
+            LoadClient client = new LoadClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                    connections, turns);
+            System.out.println(client.run(Duration.ofMinutes(10)));
+        }
     }
 }
@@ -0,0 +1,160 @@
+package Output;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prints on a thread of its own, so the game doesn't wait for the console.
+ * <p>
+ * The lines are put into a bounded ring buffer. If it is full, {@link #println(String)} waits for space, so no line is
+ * lost. The writer thread takes all lines, which are there, writes them at once and flushes once per batch. If the
+ * target fails, the remaining lines are dropped and the failure is thrown by the next {@link #flush()} or
+ * {@link #close()}.
+ */
+public class AsyncOutput implements Output, AutoCloseable {
+    /**
+     * Put into the buffer by {@link #close()}. Compared by identity.
+     */
+    private static final String STOP = new String("stop");
+
+    private final BlockingQueue<String> buffer;
+    private final Writer target;
+    private final Thread writer;
+    private final AtomicLong submitted = new AtomicLong();
+    /**
+     * Amount of lines written so far. Guarded by this.
+     */
+    private long written;
+    /**
+     * Lines are put with the read lock, closing takes the write lock, so no line is put after the STOP.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+    /**
+     * First failure of the target, null if there was none.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Creates an output to the console with space for 1024 lines.
+     */
+    public AsyncOutput() {
+        this(new OutputStreamWriter(System.out), 1024);
+    }
+
+    /**
+     * @param target   where the lines are written to
+     * @param capacity amount of lines, which can wait to be written
+     */
+    public AsyncOutput(Writer target, int capacity) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.target = target;
+        this.writer = new Thread(this::write, "okey-output");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * @throws IllegalStateException if the output was closed
+     */
+    @Override
+    public void println(String string) {
+        lock.readLock().lock();
+        try {
+            if (closed) throw new IllegalStateException("The output is closed.");
+            buffer.put(string);
+            submitted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until the lines printed before are written.
+     *
+     * @throws UncheckedIOException if the target failed
+     */
+    @Override
+    public void flush() {
+        long lines = submitted.get();
+        synchronized (this) {
+            try {
+                while (written < lines && writer.isAlive()) wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Writes the remaining lines and stops the writer thread.
+     *
+     * @throws UncheckedIOException if the target failed
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            buffer.put(STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        IOException e = failure;
+        if (e != null) throw new UncheckedIOException("The output could not be written.", e);
+    }
+
+    private void write() {
+        List<String> batch = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(buffer.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            buffer.drainTo(batch);
+
+            stop = batch.removeIf(s -> s == STOP);
+            if (failure == null) {
+                try {
+                    for (String s : batch) {
+                        target.write(s);
+                        target.write(System.lineSeparator());
+                    }
+                    target.flush();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+
+            synchronized (this) {
+                written += batch.size();
+                notifyAll();
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package Output;
+
+import java.util.function.Supplier;
+
+/**
+ * Output which throws everything away, e.g. for simulations. Lines given as {@link Supplier} are never built.
+ */
+public final class NullOutput implements Output {
+    public static final NullOutput INSTANCE = new NullOutput();
+
+    private NullOutput() {}
+
+    @Override
+    public void println(String string) {}
+
+    @Override
+    public void println(Supplier<String> message) {}
+
+    @Override
+    public void printlnTo(String player, Supplier<String> message) {}
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
@@ -1,5 +1,39 @@
 package Output;
 
+import java.util.function.Supplier;
+
 public interface Output {
     public void println(String string);
-}
\ No newline at end of file
+
+    /**
+     * Prints a line, which is only built if the output is enabled. Use it for lines, which are expensive to build.
+     *
+     * @param message builds the line
+     */
+    public default void println(Supplier<String> message) {
+        if (isEnabled()) println(message.get());
+    }
+
+    /**
+     * Prints a line, which only the given player should see, e.g. his hand. By default everyone sees it, like at a
+     * shared console.
+     *
+     * @param player  name of the player to print for, which is unique in a game
+     * @param message builds the line
+     */
+    public default void printlnTo(String player, Supplier<String> message) {
+        println(message);
+    }
+
+    /**
+     * @return false if everything printed is thrown away, so there is no need to build it
+     */
+    public default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Waits until everything printed so far is visible, e.g. before waiting for the answer of a player.
+     */
+    public default void flush() {}
+}
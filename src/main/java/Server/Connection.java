@@ -0,0 +1,183 @@
+package Server;
+
+import Game.InputChannel;
+import Game.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A player connected to the {@link TableServer}. Reading and writing only happen on the {@link IoThread} of the
+ * connection; other threads hand their lines over with {@link #send(String)}.
+ * <p>
+ * The first line is the name of the player. Every line after that is handed to the game through the
+ * {@link InputChannel} of the player.
+ */
+final class Connection {
+    private static final int BUFFER_SIZE = 4096;
+    /**
+     * Longest line in bytes a player may send. The commands are a few characters, so a longer line is not a player.
+     */
+    private static final int MAX_LINE = 256;
+
+    private final SocketChannel channel;
+    private final IoThread io;
+    private final TableServer server;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /**
+     * Bytes waiting to be written, in write mode (position is the end of the data).
+     */
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    /**
+     * UTF-8 bytes of the line read so far.
+     */
+    private final byte[] line = new byte[MAX_LINE];
+    private int length;
+    private final InputChannel input = new InputChannel();
+    private SelectionKey key;
+    private byte[] current;
+    private int offset;
+    private volatile boolean closing;
+    private boolean closed;
+    private Player player;
+
+    Connection(SocketChannel channel, IoThread io, TableServer server) {
+        this.channel = channel;
+        this.io = io;
+        this.server = server;
+    }
+
+    void register(SelectionKey key) {
+        this.key = key;
+    }
+
+    /**
+     * Sends a line to the player. May be called from any thread.
+     *
+     * @param s line to send
+     */
+    void send(String s) {
+        pending.add((s + "\n").getBytes(StandardCharsets.UTF_8));
+        schedule();
+    }
+
+    /**
+     * Closes the connection, once all lines sent before are written. May be called from any thread.
+     */
+    void closeAfterWrite() {
+        closing = true;
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) io.wantsWrite(this);
+    }
+
+    /**
+     * Reads what is there and hands complete lines on.
+     */
+    void read() throws IOException {
+        if (channel.read(in) < 0) {
+            close();
+            return;
+        }
+
+        in.flip();
+        while (in.hasRemaining() && !closed) {
+            byte b = in.get();
+            if (b == '\n') {
+                received(new String(line, 0, length, StandardCharsets.UTF_8));
+                length = 0;
+            } else if (b != '\r') {
+                if (length == MAX_LINE) {
+                    close();
+                    return;
+                }
+                line[length++] = b;
+            }
+        }
+        in.clear();
+    }
+
+    private void received(String s) {
+        if (player == null) server.seat(this, s);
+        else input.offer(s);
+    }
+
+    /**
+     * Writes as much as the socket takes. If it doesn't take everything, the connection waits until it is writable
+     * again.
+     */
+    void write() throws IOException {
+        if (closed) return;
+        scheduled.set(false);
+
+        while (true) {
+            fill();
+            out.flip();
+            int written = channel.write(out);
+            out.compact();
+
+            if (out.position() == 0 && current == null && pending.isEmpty()) {
+                key.interestOps(SelectionKey.OP_READ);
+                if (closing) close();
+                return;
+            }
+            if (written == 0) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+    }
+
+    private void fill() {
+        while (out.hasRemaining()) {
+            if (current == null) {
+                current = pending.poll();
+                offset = 0;
+                if (current == null) return;
+            }
+            int length = Math.min(out.remaining(), current.length - offset);
+            out.put(current, offset, length);
+            offset += length;
+            if (offset == current.length) current = null;
+        }
+    }
+
+    /**
+     * Closes the connection right away. The game of the player gets no more input and ends on his turn.
+     */
+    void close() {
+        if (closed) return;
+        closed = true;
+        if (key != null) key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {}
+        input.end();
+        server.disconnected(this);
+    }
+
+    /**
+     * Seats the connection as the given player, from then on every line goes to his game.
+     */
+    void seat(Player player) {
+        player.setInput(input);
+        this.player = player;
+    }
+
+    /**
+     * @return the player of this connection, null until he told his name
+     */
+    Player player() {
+        return player;
+    }
+}
@@ -0,0 +1,126 @@
+package Server;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One of the threads of the {@link TableServer}, which does the reading and writing for its share of the connections.
+ * Other threads hand over new connections and connections with lines to write through queues and wake the selector.
+ */
+final class IoThread implements Runnable {
+    private final TableServer server;
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+    private final Queue<Connection> writable = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    IoThread(TableServer server, int index) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, "okey-io-" + index);
+        thread.setDaemon(true);
+    }
+
+    Selector selector() {
+        return selector;
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Lets this thread take care of a new connection.
+     */
+    void register(SocketChannel channel) {
+        accepted.add(channel);
+        selector.wakeup();
+    }
+
+    /**
+     * Lets this thread write the lines of the connection.
+     */
+    void wantsWrite(Connection connection) {
+        writable.add(connection);
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                registerAccepted();
+                writeScheduled();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException ignored) {
+        } finally {
+            for (SelectionKey key : selector.keys())
+                if (key.attachment() instanceof Connection c) c.close();
+            try {
+                selector.close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) return;
+        if (key.isAcceptable()) {
+            server.accept();
+            return;
+        }
+
+        Connection c = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) c.read();
+            if (key.isValid() && key.isWritable()) c.write();
+        } catch (IOException e) {
+            c.close();
+        }
+    }
+
+    private void registerAccepted() {
+        SocketChannel channel;
+        while ((channel = accepted.poll()) != null) {
+            Connection c = new Connection(channel, this, server);
+            try {
+                channel.configureBlocking(false);
+                c.register(channel.register(selector, SelectionKey.OP_READ, c));
+                server.connected(c);
+            } catch (IOException e) {
+                c.close();
+            }
+        }
+    }
+
+    private void writeScheduled() {
+        Connection c;
+        while ((c = writable.poll()) != null) {
+            try {
+                c.write();
+            } catch (IOException e) {
+                c.close();
+            }
+        }
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        selector.wakeup();
+        thread.join();
+    }
+}
@@ -0,0 +1,205 @@
+package Server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Opens many connections to a {@link TableServer} and lets each of them play like a very simple player: it always
+ * draws a new token and throws the first token of its hand. After the given amount of turns it leaves, which ends its
+ * table.
+ * <p>
+ * It measures the turn latency: the time from sending a line until the first answer arrives. Everything runs on one
+ * thread with one selector, so thousands of connections only cost a few buffers each.
+ */
+public class LoadClient {
+    private final InetSocketAddress address;
+    private final int connections;
+    private final int turns;
+    private long[] latencies = new long[1024];
+    private int samples;
+    private int open;
+
+    /**
+     * @param address     address of the server
+     * @param connections amount of players to connect
+     * @param turns       amount of tokens each player throws before leaving
+     */
+    public LoadClient(InetSocketAddress address, int connections, int turns) {
+        this.address = address;
+        this.connections = connections;
+        this.turns = turns;
+    }
+
+    /**
+     * Connects all players and waits until all of them left or the timeout passed.
+     *
+     * @param timeout maximum time to run
+     * @return the latencies measured
+     */
+    public Result run(Duration timeout) throws IOException {
+        long start = System.nanoTime(), deadline = start + timeout.toNanos();
+        int finished = 0;
+
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < connections; i++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.connect(address);
+                channel.register(selector, SelectionKey.OP_CONNECT, new Bot("bot" + i, channel));
+                open++;
+            }
+
+            while (open > 0 && System.nanoTime() < deadline) {
+                selector.select(100);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Bot bot = (Bot) key.attachment();
+                    try {
+                        if (key.isConnectable() && bot.channel.finishConnect()) {
+                            key.interestOps(SelectionKey.OP_READ);
+                            bot.send(bot.name, false);
+                        } else if (key.isReadable() && !bot.read()) {
+                            if (bot.turns >= turns) finished++;
+                            bot.close();
+                        }
+                    } catch (IOException e) {
+                        bot.close();
+                    }
+                }
+            }
+            for (SelectionKey key : selector.keys()) ((Bot) key.attachment()).close();
+        }
+        return new Result(connections, finished, Arrays.copyOf(latencies, samples), System.nanoTime() - start);
+    }
+
+    private void record(long nanos) {
+        if (samples == latencies.length) latencies = Arrays.copyOf(latencies, samples * 2);
+        latencies[samples++] = nanos;
+    }
+
+    /**
+     * A connected player, who reacts to the lines of the server.
+     */
+    private final class Bot {
+        private final String name;
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(4096);
+        private final StringBuilder line = new StringBuilder();
+        private String hand;
+        private boolean myTurn;
+        private boolean drawing;
+        private long sent;
+        private int turns;
+        private boolean closed;
+
+        Bot(String name, SocketChannel channel) {
+            this.name = name;
+            this.channel = channel;
+        }
+
+        /**
+         * @return false if the connection was closed
+         */
+        boolean read() throws IOException {
+            if (channel.read(in) < 0) return false;
+            in.flip();
+            while (in.hasRemaining() && !closed) {
+                byte b = in.get();
+                if (b == '\n') {
+                    received(line.toString());
+                    line.setLength(0);
+                } else line.append((char) (b & 0xFF));
+            }
+            in.clear();
+            return !closed;
+        }
+
+        private void received(String s) throws IOException {
+            if (sent != 0) {
+                record(System.nanoTime() - sent);
+                sent = 0;
+            }
+
+            if (s.startsWith("[")) {
+                hand = s;
+                if (drawing) {
+                    drawing = false;
+                    throwToken();
+                }
+            } else if (s.startsWith("It's ")) myTurn = s.equals("It's " + name + "s turn.");
+            else if (s.equals("Please throw the first Token, " + name + ".")) {
+                myTurn = true;
+                throwToken();
+            } else if (s.startsWith("Do you want to take the thrown Token") && myTurn) {
+                drawing = true;
+                send("new", true);
+            }
+        }
+
+        private void throwToken() throws IOException {
+            if (turns++ == LoadClient.this.turns) {
+                close();
+                return;
+            }
+            int end = hand.indexOf(',');
+            send(hand.substring(1, end < 0 ? hand.length() - 1 : end), true);
+        }
+
+        /**
+         * @param timed true if the time until the answer is a turn latency
+         */
+        void send(String s, boolean timed) throws IOException {
+            ByteBuffer out = ByteBuffer.wrap((s + "\n").getBytes(StandardCharsets.UTF_8));
+            while (out.hasRemaining()) channel.write(out);
+            sent = timed ? System.nanoTime() : 0;
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            open--;
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    /**
+     * @param connections amount of players connected
+     * @param finished    amount of players, which played all their turns
+     * @param latencies   all turn latencies measured, in nanoseconds
+     * @param nanos       time the run took
+     */
+    public record Result(int connections, int finished, long[] latencies, long nanos) {
+        /**
+         * @param p percentile between 0 and 100
+         * @return the latency, which that share of the turns didn't exceed, in nanoseconds
+         */
+        public long percentile(double p) {
+            if (latencies.length == 0) return 0;
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int i = (int) Math.ceil(p / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d of %d players finished, %d turns in %.2f s, latency p50 %.3f ms, p99 %.3f ms, "
+                            + "max %.3f ms.", finished, connections, latencies.length, nanos / 1e9,
+                    percentile(50) / 1e6, percentile(99) / 1e6, percentile(100) / 1e6);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package Server;
+
+import Game.Game;
+import Game.InputChannel;
+import Game.Player;
+import Output.Output;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many games (tables) in one process. Every table has its own {@link InputChannel}, {@link Output} and thread,
+ * so the tables don't wait for each other.
+ * <p>
+ * Tables spend most of their time waiting for a player, so each one runs on a platform thread with a small stack
+ * (virtual threads would need Java 21). A table only needs one thread: its input is offered directly by whoever reads
+ * it from the players, e.g. a server.
+ */
+public class TableHost implements AutoCloseable {
+    /**
+     * Stack size of the table threads. Deep enough for the recursion of a match (a "show" or a wrong input calls the
+     * input method again), but small enough for thousands of tables.
+     */
+    public static final long DEFAULT_STACK_SIZE = 256 * 1024;
+
+    private final ConcurrentMap<Integer, Table> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger ids = new AtomicInteger();
+    private final long stackSize;
+    private final Duration turnTimeout;
+    /**
+     * Every table gets a split of it, so the tables don't share a random. Guarded by itself.
+     */
+    private final SplittableRandom random;
+    private volatile boolean closed;
+
+    public TableHost() {
+        this(DEFAULT_STACK_SIZE, Duration.ofSeconds(100));
+    }
+
+    /**
+     * @param stackSize   stack size of the table threads in bytes
+     * @param turnTimeout how long a table waits for a player, before the game ends
+     */
+    public TableHost(long stackSize, Duration turnTimeout) {
+        this(stackSize, turnTimeout, new SplittableRandom());
+    }
+
+    /**
+     * @param stackSize   stack size of the table threads in bytes
+     * @param turnTimeout how long a table waits for a player, before the game ends
+     * @param random      source of the randoms of the tables
+     */
+    public TableHost(long stackSize, Duration turnTimeout, SplittableRandom random) {
+        this.stackSize = stackSize;
+        this.turnTimeout = turnTimeout;
+        this.random = random;
+    }
+
+    /**
+     * Opens a table and starts its game. The game is created on the thread of the table, so a table with invalid
+     * players asks for their names without blocking the caller.
+     *
+     * @param players players of the table
+     * @param out     output of the table
+     * @return the table
+     * @throws IllegalStateException if the host was closed
+     */
+    public Table open(Player[] players, Output out) {
+        if (closed) throw new IllegalStateException("The host is closed.");
+
+        Table table = new Table(ids.incrementAndGet(), new InputChannel(), players);
+        SplittableRandom split;
+        synchronized (random) {
+            split = random.split();
+        }
+        table.thread = new Thread(null, () -> table.run(players, out, split), "okey-table-" + table.id, stackSize);
+        table.thread.setDaemon(true);
+        tables.put(table.id, table);
+        table.thread.start();
+        return table;
+    }
+
+    /**
+     * @param id id of the table
+     * @return the table, or null if there is no such table or it was closed
+     */
+    public Table get(int id) {
+        return tables.get(id);
+    }
+
+    /**
+     * @return all tables, which are still running
+     */
+    public Collection<Table> tables() {
+        return List.copyOf(tables.values());
+    }
+
+    /**
+     * @return amount of tables, which are still running
+     */
+    public int size() {
+        return tables.size();
+    }
+
+    /**
+     * Gives one line per table with the time it takes to respond to its players.
+     *
+     * @return the report
+     */
+    public String report() {
+        StringBuilder s = new StringBuilder();
+        for (Table t : tables.values()) s.append(t).append('\n');
+        return s.toString();
+    }
+
+    /**
+     * Ends the input of all tables and waits for their games to end. If the calling thread is interrupted, it stops
+     * waiting and keeps its interrupt flag.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Collection<Table> open = tables();
+        for (Table t : open) t.close();
+        try {
+            for (Table t : open) t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A game hosted by a {@link TableHost}.
+     */
+    public final class Table {
+        private final int id;
+        private final InputChannel input;
+        /**
+         * The input of the table and those of players with an input of their own, e.g. a connection.
+         */
+        private final List<InputChannel> inputs = new ArrayList<>();
+        private final CompletableFuture<Table> done = new CompletableFuture<>();
+        private Thread thread;
+        private volatile Game game;
+
+        private Table(int id, InputChannel input, Player[] players) {
+            this.id = id;
+            this.input = input;
+            inputs.add(input);
+            for (Player p : players)
+                if (p.getInput() != null && !inputs.contains(p.getInput())) inputs.add(p.getInput());
+        }
+
+        private void run(Player[] players, Output out, SplittableRandom random) {
+            try {
+                game = new Game(players, new Game.Options().input(input).output(out).random(random)
+                        .turnTimeout(turnTimeout));
+                game.start();
+            } finally {
+                tables.remove(id);
+                done.complete(this);
+            }
+        }
+
+        public int id() {
+            return id;
+        }
+
+        /**
+         * Hands the input of a player to the game of this table.
+         *
+         * @param line line typed by a player
+         */
+        public void send(String line) {
+            input.offer(line);
+        }
+
+        /**
+         * Ends the input of the table, so its game ends after the lines sent before.
+         */
+        public void close() {
+            input.end();
+        }
+
+        /**
+         * Waits for the game of this table to end.
+         */
+        public void join() throws InterruptedException {
+            thread.join();
+        }
+
+        /**
+         * @return completes, when the game of this table ended
+         */
+        public CompletableFuture<Table> done() {
+            return done;
+        }
+
+        public boolean isRunning() {
+            return thread.isAlive();
+        }
+
+        /**
+         * @return the game of this table, null while it is being created
+         */
+        public Game game() {
+            return game;
+        }
+
+        /**
+         * @return the input of this table, which also measures how long the game takes to respond
+         */
+        public InputChannel input() {
+            return input;
+        }
+
+        /**
+         * Tells how long the game takes to respond to its players, measured by the input of the table and those of the
+         * players.
+         */
+        @Override
+        public String toString() {
+            long responses = 0, nanos = 0, max = 0;
+            for (InputChannel i : inputs) {
+                responses += i.responses();
+                nanos += i.totalResponseNanos();
+                max = Math.max(max, i.maxResponseNanos());
+            }
+            return String.format("Table %d: %d turns, %.3f ms mean, %.3f ms max", id, responses,
+                    responses == 0 ? 0 : nanos / 1e6 / responses, max / 1e6);
+        }
+    }
+}
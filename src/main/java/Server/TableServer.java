@@ -0,0 +1,188 @@
+package Server;
+
+import Game.Player;
+import Output.Output;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lets players join games over TCP. They speak the same lines as at the console ("new", "thrown", "Gelb 5",
+ * "win Gelb 5", "show", "exit"); the first line is the name of the player. As soon as enough players joined, they get a
+ * table of the {@link TableHost}.
+ * <p>
+ * The sockets are non-blocking and shared by a small, fixed amount of {@link IoThread}s, each with its own selector.
+ * The games themselves run on the threads of the host, so a slow game never holds up the reading and writing.
+ */
+public class TableServer implements AutoCloseable {
+    private final TableHost host;
+    private final int seats;
+    private final IoThread[] io;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<Connection> waiting = new ArrayList<>();
+    private final Set<String> waitingNames = new HashSet<>();
+    private ServerSocketChannel server;
+
+    /**
+     * @param host      host of the tables
+     * @param seats     players per table (2 to 4)
+     * @param ioThreads amount of threads for reading and writing
+     */
+    public TableServer(TableHost host, int seats, int ioThreads) throws IOException {
+        if (seats < 2 || seats > 4) throw new IllegalArgumentException("A table has 2 to 4 seats.");
+        this.host = host;
+        this.seats = seats;
+        this.io = new IoThread[ioThreads];
+        for (int i = 0; i < ioThreads; i++) io[i] = new IoThread(this, i);
+    }
+
+    /**
+     * Starts listening.
+     *
+     * @param port port to listen on, 0 for any free one
+     * @return the port the server listens on
+     */
+    public int start(int port) throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), 4096);
+        server.configureBlocking(false);
+        server.register(io[0].selector(), SelectionKey.OP_ACCEPT);
+        for (IoThread t : io) t.start();
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Accepts all waiting connections and hands them to the I/O threads in turn.
+     */
+    void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                io[Math.floorMod(next.getAndIncrement(), io.length)].register(channel);
+            }
+        } catch (IOException ignored) {}
+    }
+
+    void connected(Connection c) {
+        connections.incrementAndGet();
+        c.send("Welcome to Okey. Please enter your name.");
+    }
+
+    void disconnected(Connection c) {
+        connections.decrementAndGet();
+        synchronized (waiting) {
+            int i = waiting.indexOf(c);
+            if (i >= 0) {
+                waiting.remove(i);
+                waitingNames.clear();
+                for (Connection w : waiting) waitingNames.add(w.player().toString());
+            }
+        }
+    }
+
+    /**
+     * Seats a player, who told his name. Once the table is full, its game starts.
+     *
+     * @param c    connection of the player
+     * @param name first line of the player
+     */
+    void seat(Connection c, String name) {
+        name = name.strip();
+        if (name.equals("exit")) {
+            c.closeAfterWrite();
+            return;
+        }
+        if (name.isEmpty() || name.contains(" ")) {
+            c.send("Please enter a name without spaces.");
+            return;
+        }
+
+        List<Connection> table;
+        synchronized (waiting) {
+            if (!waitingNames.add(name)) {
+                c.send("The name " + name + " is taken. Please enter another name.");
+                return;
+            }
+            c.seat(new Player(name));
+            waiting.add(c);
+            if (waiting.size() < seats) {
+                c.send("Waiting for " + (seats - waiting.size()) + " more players.");
+                return;
+            }
+            table = List.copyOf(waiting);
+            waiting.clear();
+            waitingNames.clear();
+        }
+        open(table);
+    }
+
+    private void open(List<Connection> table) {
+        Player[] players = table.stream().map(Connection::player).toArray(Player[]::new);
+        try {
+            host.open(players, new TableOutput(table))
+                .done()
+                .thenRun(() -> table.forEach(Connection::closeAfterWrite));
+        } catch (IllegalStateException e) {
+            for (Connection c : table) {
+                c.send("The server is shutting down.");
+                c.closeAfterWrite();
+            }
+        }
+    }
+
+    /**
+     * @return amount of open connections
+     */
+    public int connections() {
+        return connections.get();
+    }
+
+    /**
+     * Stops listening and closes all connections. The tables end, when it is the turn of a player. If the calling
+     * thread is interrupted, every I/O thread is still told to stop, but not waited for, and the interrupt flag is kept.
+     */
+    @Override
+    public void close() throws IOException {
+        if (server != null) server.close();
+        for (IoThread t : io) {
+            try {
+                t.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Sends the output of a table to its players. Lines for one player only go to him.
+     */
+    private static final class TableOutput implements Output {
+        private final List<Connection> connections;
+        private final Map<String, Connection> byPlayer = new HashMap<>();
+
+        TableOutput(List<Connection> connections) {
+            this.connections = connections;
+            for (Connection c : connections) byPlayer.put(c.player().toString(), c);
+        }
+
+        @Override
+        public void println(String string) {
+            for (Connection c : connections) c.send(string);
+        }
+
+        @Override
+        public void printlnTo(String player, Supplier<String> message) {
+            Connection c = byPlayer.get(player);
+            if (c != null) c.send(message.get());
+        }
+    }
+}
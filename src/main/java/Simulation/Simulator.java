@@ -0,0 +1,128 @@
+package Simulation;
+
+import Game.Game;
+import Game.MatchLog;
+import Game.Player;
+import Game.Strategy;
+import Output.NullOutput;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Plays complete games between bots, without any input or output. The games are spread over all threads of a
+ * ForkJoinPool.
+ * <p>
+ * Every game gets its own split of a {@link SplittableRandom} with the seed of the simulation, so the threads never
+ * share a random and the same seed plays the same games, no matter how many threads play them.
+ */
+public class Simulator {
+    private final int seats;
+    private final Supplier<Strategy> strategies;
+    private MatchLog log;
+    private long seed = new SplittableRandom().nextLong();
+
+    /**
+     * @param seats      amount of players in each game (2 to 4)
+     * @param strategies creates the strategy for each player. Every player gets its own instance.
+     */
+    public Simulator(int seats, Supplier<Strategy> strategies) {
+        if (seats < 2 || seats > 4)
+            throw new IllegalArgumentException("There is a minimum of two players and a maximum of four in this match.");
+        this.seats = seats;
+        this.strategies = strategies;
+    }
+
+    /**
+     * Writes every match played to the log.
+     *
+     * @param log log to write to, null for none
+     */
+    public void setLog(MatchLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Sets the seed of the simulation. By default every simulator has a random one.
+     *
+     * @param seed seed, which all games are split from
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the given amount of games on all available processors.
+     *
+     * @param games amount of games to play
+     * @return games, matches and time it took
+     */
+    public Result run(int games) {
+        return run(games, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays the given amount of games.
+     *
+     * @param games       amount of games to play
+     * @param parallelism amount of threads to play on
+     * @return games, matches and time it took
+     */
+    public Result run(int games, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        LongAdder matches = new LongAdder();
+        long start = System.nanoTime();
+
+        // split in order up front, so the random of each game doesn't depend on which thread plays it
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[games];
+        for (int i = 0; i < games; i++) randoms[i] = root.split();
+
+        try {
+            pool.submit(() -> IntStream.range(0, games).parallel().forEach(i -> matches.add(play(randoms[i])))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A simulated game failed.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        return new Result(games, matches.sum(), System.nanoTime() - start, seed);
+    }
+
+    /**
+     * Plays one game.
+     *
+     * @param random random of this game only
+     * @return the amount of matches played in the game
+     */
+    private int play(SplittableRandom random) {
+        Player[] players = new Player[seats];
+        for (int i = 0; i < seats; i++) players[i] = new Player("Bot" + i, strategies.get());
+
+        Game game = new Game(players, new Game.Options().output(NullOutput.INSTANCE).random(random));
+        game.setLog(log);
+        game.start();
+        return game.getMatchesPlayed();
+    }
+
+    /**
+     * @param seed seed of the simulation, which plays the same games again
+     */
+    public record Result(int games, long matches, long nanos, long seed) {
+        public double matchesPerSecond() {
+            return matches * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Played %d games with %d matches in %.2f s (%.0f matches/s, seed %d).", games,
+                    matches, nanos / 1e9, matchesPerSecond(), seed);
+        }
+    }
+}
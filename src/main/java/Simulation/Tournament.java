@@ -0,0 +1,325 @@
+package Simulation;
+
+import Game.Game;
+import Game.Player;
+import Game.Strategy;
+import Output.NullOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks bot strategies by playing complete games between them. Every combination of entrants, which fills the seats,
+ * plays the same amount of games, and the seats rotate from game to game, so nobody always starts.
+ * <p>
+ * After every game the Elo ratings of its players are updated pairwise: a player beats everyone, who lost before him,
+ * and players, who lost in the same match, draw. The games run in parallel, so every update is computed from the
+ * ratings at the end of the game and added to {@link DoubleAdder}s without any lock. The ratings therefore depend a
+ * little on the order, in which the games end, unlike the games themselves, which only depend on the seed.
+ * <p>
+ * The result of every game is written to a file as soon as the game ends, as JSON lines, or as CSV, if the file name
+ * ends with ".csv". Nothing but the ratings and counters is kept in memory.
+ */
+public class Tournament {
+    private static final double INITIAL_RATING = 1500;
+    private static final double K = 16;
+
+    private final Map<String, Supplier<Strategy>> entrants = new LinkedHashMap<>();
+    private final int seats;
+    private Path results;
+    private long seed = new SplittableRandom().nextLong();
+
+    /**
+     * @param seats amount of players in each game (2 to 4)
+     */
+    public Tournament(int seats) {
+        if (seats < 2 || seats > 4)
+            throw new IllegalArgumentException("There is a minimum of two players and a maximum of four in this match.");
+        this.seats = seats;
+    }
+
+    /**
+     * Adds an entrant.
+     *
+     * @param name       unique name of the entrant
+     * @param strategies creates the strategy of the entrant. Every game gets its own instance.
+     */
+    public void add(String name, Supplier<Strategy> strategies) {
+        if (entrants.putIfAbsent(name, strategies) != null)
+            throw new IllegalArgumentException("Players must not have the same name.");
+    }
+
+    /**
+     * Writes the result of every game to the file.
+     *
+     * @param results file to write to, null for none
+     */
+    public void setResults(Path results) {
+        this.results = results;
+    }
+
+    /**
+     * Sets the seed of the tournament. By default every tournament has a random one.
+     *
+     * @param seed seed, which all games are split from
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the given amount of games for every pairing on all available processors.
+     *
+     * @param games amount of games of each pairing
+     * @return the standings
+     */
+    public Result run(int games) throws IOException {
+        return run(games, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays the given amount of games for every pairing.
+     *
+     * @param games       amount of games of each pairing
+     * @param parallelism amount of threads to play on
+     * @return the standings
+     */
+    public Result run(int games, int parallelism) throws IOException {
+        if (entrants.size() < seats)
+            throw new IllegalStateException("A tournament needs at least as many entrants as seats.");
+
+        List<String> names = List.copyOf(entrants.keySet());
+        List<int[]> pairings = new ArrayList<>();
+        pairings(names.size(), new int[seats], 0, 0, pairings);
+
+        Standing[] standings = new Standing[names.size()];
+        for (int i = 0; i < standings.length; i++) standings[i] = new Standing(names.get(i));
+
+        int total = pairings.size() * games;
+        // split in order up front, so the random of each game doesn't depend on which thread plays it
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[total];
+        for (int i = 0; i < total; i++) randoms[i] = root.split();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try (ResultWriter writer = results == null ? null : new ResultWriter(results, seats)) {
+            pool.submit(() -> IntStream.range(0, total).parallel().forEach(i -> {
+                int[] pairing = pairings.get(i / games);
+                int[] order = new int[seats];
+                // the seats rotate by one with every game of a pairing
+                for (int s = 0; s < seats; s++) order[s] = pairing[(s + i % games) % seats];
+
+                int[] places = play(names, order, randoms[i]);
+                rate(standings, order, places);
+                if (writer != null) writer.write(i, names, order, places);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException u) throw u.getCause();
+            throw new IllegalStateException("A game of the tournament failed.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        return new Result(List.of(standings), total, System.nanoTime() - start, seed);
+    }
+
+    /**
+     * Collects every combination of entrants, which fills the seats, in order.
+     */
+    private static void pairings(int entrants, int[] current, int seat, int from, List<int[]> res) {
+        if (seat == current.length) {
+            res.add(current.clone());
+            return;
+        }
+        for (int e = from; e < entrants; e++) {
+            current[seat] = e;
+            pairings(entrants, current, seat + 1, e + 1, res);
+        }
+    }
+
+    /**
+     * Plays one game.
+     *
+     * @param order entrant of each seat
+     * @return place of each seat
+     */
+    private int[] play(List<String> names, int[] order, SplittableRandom random) {
+        Player[] players = new Player[order.length];
+        for (int s = 0; s < order.length; s++)
+            players[s] = new Player(names.get(order[s]), entrants.get(names.get(order[s])).get());
+
+        Game game = new Game(players, new Game.Options().output(NullOutput.INSTANCE).random(random));
+        game.start();
+
+        int[] places = new int[players.length];
+        for (int s = 0; s < players.length; s++) places[s] = game.getPlaceOf(players[s]);
+        return places;
+    }
+
+    /**
+     * Updates the ratings of the players of a game pairwise.
+     */
+    private static void rate(Standing[] standings, int[] order, int[] places) {
+        double[] ratings = new double[order.length];
+        for (int s = 0; s < order.length; s++) ratings[s] = standings[order[s]].rating();
+
+        for (int s = 0; s < order.length; s++) {
+            double delta = 0;
+            for (int o = 0; o < order.length; o++) {
+                if (o == s) continue;
+                double score = places[s] < places[o] ? 1 : places[s] == places[o] ? 0.5 : 0;
+                double expected = 1 / (1 + Math.pow(10, (ratings[o] - ratings[s]) / 400));
+                delta += K * (score - expected) / (order.length - 1);
+            }
+            Standing standing = standings[order[s]];
+            standing.rating.add(delta);
+            standing.games.increment();
+            if (places[s] == 1) standing.wins.increment();
+        }
+    }
+
+    /**
+     * Rating and counters of an entrant, which all games update without a lock.
+     */
+    public static final class Standing {
+        private final String name;
+        private final DoubleAdder rating = new DoubleAdder();
+        private final LongAdder games = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+
+        private Standing(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public double rating() {
+            return INITIAL_RATING + rating.sum();
+        }
+
+        public long games() {
+            return games.sum();
+        }
+
+        public long wins() {
+            return wins.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s %7.1f %8d games %6.1f %% won", name, rating(), games(),
+                    games() == 0 ? 0 : 100.0 * wins() / games());
+        }
+    }
+
+    /**
+     * Writes the result of every game as a line, as soon as it is known. Lines of different threads never mix.
+     */
+    private static final class ResultWriter implements AutoCloseable {
+        private final BufferedWriter writer;
+        private final boolean csv;
+
+        ResultWriter(Path file, int seats) throws IOException {
+            writer = Files.newBufferedWriter(file);
+            csv = file.toString().endsWith(".csv");
+            if (csv) {
+                StringBuilder header = new StringBuilder("game");
+                for (int s = 0; s < seats; s++) header.append(",seat").append(s).append(",place").append(s);
+                writer.write(header.append('\n').toString());
+            }
+        }
+
+        void write(int game, List<String> names, int[] order, int[] places) {
+            StringBuilder line = new StringBuilder();
+            if (csv) {
+                line.append(game);
+                for (int s = 0; s < order.length; s++) line.append(',').append(csv(names.get(order[s]))).append(',')
+                                                           .append(places[s]);
+            } else {
+                line.append("{\"game\":").append(game).append(",\"seats\":[");
+                for (int s = 0; s < order.length; s++)
+                    line.append(s == 0 ? "" : ",").append(json(names.get(order[s])));
+                line.append("],\"places\":[");
+                for (int s = 0; s < order.length; s++) line.append(s == 0 ? "" : ",").append(places[s]);
+                line.append("]}");
+            }
+            line.append('\n');
+
+            synchronized (this) {
+                try {
+                    writer.write(line.toString());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        /**
+         * @return the name as a CSV field, quoted if it contains a comma, a quote or a line break
+         */
+        static String csv(String name) {
+            if (name.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) return name;
+            return '"' + name.replace("\"", "\"\"") + '"';
+        }
+
+        /**
+         * @return the name as a JSON string
+         */
+        static String json(String name) {
+            StringBuilder s = new StringBuilder(name.length() + 2).append('"');
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '"' || c == '\\') s.append('\\').append(c);
+                else if (c < 0x20) s.append(String.format("\\u%04x", (int) c));
+                else s.append(c);
+            }
+            return s.append('"').toString();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * @param standings standings of all entrants, in the order they were added
+     * @param seed      seed of the tournament, which plays the same games again
+     */
+    public record Result(List<Standing> standings, int games, long nanos, long seed) {
+        /**
+         * @return the standings, the best rating first
+         */
+        public List<Standing> ranking() {
+            return standings.stream().sorted(Comparator.comparingDouble(Standing::rating).reversed()).toList();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder(String.format("Played %d games in %.2f s (seed %d).%n", games,
+                    nanos / 1e9, seed));
+            for (Standing standing : ranking()) s.append(standing).append(System.lineSeparator());
+            return s.toString();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package Game;
+
+import Output.NullOutput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName ("This test tests, if ")
+public class CheckpointerTest {
+    private static final String[] NAMES = { "Hakan", "Okan", "Volkan" };
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Plays greedy, but keeps the checkpoint of the game at the start of its third match and the one before its 40th
+     * discard.
+     */
+    private static final class Capturing extends GreedyStrategy {
+        Game game;
+        byte[] checkpoint;
+        byte[] middle;
+        int matches;
+        int discards;
+
+        @Override
+        public void matchStarted(int players) {
+            super.matchStarted(players);
+            if (++matches == 3) checkpoint = game.lastCheckpoint();
+        }
+
+        @Override
+        public Token discard(Hand hand) {
+            if (++discards == 40) middle = game.lastCheckpoint();
+            return super.discard(hand);
+        }
+    }
+
+    @Test
+    @DisplayName ("a game resumed from a checkpoint ends the same way as the game it was taken from.")
+    void test_1() throws IOException {
+        Capturing capturing = new Capturing();
+        Player[] players = { new Player(NAMES[0], capturing), new Player(NAMES[1], new GreedyStrategy()),
+                new Player(NAMES[2], new GreedyStrategy()) };
+        Game game = new Game(players, new Game.Options().output(NullOutput.INSTANCE).random(new SplittableRandom(11)));
+        capturing.game = game;
+        game.checkpointing = true;
+        game.start();
+        assertThat(capturing.checkpoint).isNotNull();
+
+        Map<String, Player> resumedPlayers = new HashMap<>();
+        Metrics metrics = new Metrics(true);
+        Game resumed = Game.resume(capturing.checkpoint, name -> resumedPlayers.computeIfAbsent(name,
+                        n -> new Player(n, new GreedyStrategy())),
+                new Game.Options().output(NullOutput.INSTANCE).metrics(metrics));
+        resumed.start();
+
+        assertThat(metrics.deal.count()).isPositive();
+        assertThat(resumedPlayers).containsOnlyKeys(NAMES);
+        for (Player p : players)
+            assertThat(resumed.getPlaceOf(resumedPlayers.get(p.toString()))).isEqualTo(game.getPlaceOf(p));
+        assertThat(resumed.playersLeft()).isFalse();
+
+        // a checkpoint in the middle of a match reads back the same and plays to the end. The resumed match isn't
+        // logged, the ones after it replay like they were played.
+        assertThat(capturing.middle).isNotNull().isNotEqualTo(capturing.checkpoint);
+        Game.Options options = new Game.Options().output(NullOutput.INSTANCE);
+        assertThat(Game.resume(capturing.middle, Player::new, options).snapshot()).isEqualTo(capturing.middle);
+        Game middle = Game.resume(capturing.middle, n -> new Player(n, new GreedyStrategy()), options);
+        Path file = dir.resolve("resumed.log");
+        try (MatchLog log = new MatchLog(file)) {
+            middle.setLog(log);
+            middle.start();
+        }
+        assertThat(middle.playersLeft()).isFalse();
+        MatchReplayer.Result result = new MatchReplayer(file).replay();
+        assertThat(result.matches()).isPositive();
+        assertThat(result.diverged()).isZero();
+    }
+
+    @Test
+    @DisplayName ("checkpoints are found in the file after it is opened again, and a corrupt one falls back to the one " +
+            "before.")
+    void test_2() throws IOException {
+        Path file = dir.resolve("tables.bin");
+        Player[] players = { new Player("A", new GreedyStrategy()), new Player("B", new GreedyStrategy()) };
+        Game game = new Game(players, new Game.Options().output(NullOutput.INSTANCE).random(new SplittableRandom(3)));
+        game.checkpointing = true;
+
+        byte[] first;
+        byte[] second;
+        try (Checkpointer checkpointer = new Checkpointer(file, 8, 1024)) {
+            checkpointer.track(5, game);
+            game.checkpoint();
+            first = game.lastCheckpoint();
+            checkpointer.checkpoint();
+            game.checkpoint();
+            second = game.lastCheckpoint();
+            assertThat(second).isNotSameAs(first).isEqualTo(first);
+            checkpointer.checkpoint();
+            assertThat(checkpointer.read(4)).isNull();
+        }
+
+        try (Checkpointer checkpointer = new Checkpointer(file, 8, 1024)) {
+            assertThat(checkpointer.read(5)).isEqualTo(second);
+
+            // write a third checkpoint into the second half of the slot, which is broken below
+            Game other = new Game(players,
+                    new Game.Options().output(NullOutput.INSTANCE).random(new SplittableRandom(4)));
+            other.checkpointing = true;
+            checkpointer.track(5, other);
+            other.checkpoint();
+            checkpointer.checkpoint();
+        }
+        try (var raf = new java.io.RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(5 * 1024 + 512 + Checkpointer.HEADER);
+            raf.write(raf.read() ^ 1);
+        }
+        try (Checkpointer checkpointer = new Checkpointer(file, 8, 1024)) {
+            assertThat(checkpointer.read(5)).isEqualTo(second);
+        }
+    }
+
+    @Test
+    @DisplayName ("a checkpoint of a game with four players reads back the same, and a corrupt checkpoint is refused.")
+    void test_3() {
+        Player[] players = { new Player("A", new GreedyStrategy()), new Player("B", new GreedyStrategy()),
+                new Player("C", new GreedyStrategy()), new Player("D", new GreedyStrategy()) };
+        Game game = new Game(players, new Game.Options().output(NullOutput.INSTANCE).random(new SplittableRandom(5)));
+        byte[] checkpoint = game.snapshot();
+
+        Game.Options options = new Game.Options().output(NullOutput.INSTANCE);
+        assertThat(Game.resume(checkpoint, Player::new, options).snapshot()).isEqualTo(checkpoint);
+        assertThatThrownBy(() -> Game.resume(new byte[10], Player::new, options))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName ("a torn newest checkpoint is written over next, so the intact one before it is kept.")
+    void test_4() throws IOException {
+        Path file = dir.resolve("torn.bin");
+        Player[] players = { new Player("A", new GreedyStrategy()), new Player("B", new GreedyStrategy()) };
+        try (Checkpointer checkpointer = new Checkpointer(file, 1, 1024)) {
+            for (int seed = 1; seed <= 2; seed++) {
+                Game game = new Game(players,
+                        new Game.Options().output(NullOutput.INSTANCE).random(new SplittableRandom(seed)));
+                checkpointer.track(0, game);
+                game.checkpoint();
+                checkpointer.checkpoint();
+            }
+        }
+        // the first checkpoint is in the second half of the slot, the torn second one in the first half
+        tear(file);
+        byte[] first;
+        try (Checkpointer checkpointer = new Checkpointer(file, 1, 1024)) {
+            first = checkpointer.read(0);
+            assertThat(first).isNotNull();
+            Game game = new Game(players,
+                    new Game.Options().output(NullOutput.INSTANCE).random(new SplittableRandom(3)));
+            checkpointer.track(0, game);
+            game.checkpoint();
+            checkpointer.checkpoint();
+            assertThat(checkpointer.read(0)).isEqualTo(game.lastCheckpoint());
+        }
+        tear(file);
+        try (Checkpointer checkpointer = new Checkpointer(file, 1, 1024)) {
+            assertThat(checkpointer.read(0)).isEqualTo(first);
+        }
+    }
+
+    private static void tear(Path file) throws IOException {
+        try (var raf = new java.io.RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(Checkpointer.HEADER);
+            raf.write(raf.read() ^ 1);
+        }
+    }
+}
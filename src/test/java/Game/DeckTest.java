@@ -0,0 +1,46 @@
+package Game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName ("This test tests, if ")
+public class DeckTest {
+
+    @Test
+    @DisplayName ("a shuffled deck has every numbered token twice and two jokers, and then is empty.")
+    void test_1() {
+        Deck d = new Deck();
+        d.shuffle(new SplittableRandom(42));
+
+        Hand all = new Hand();
+        while (!d.isEmpty()) all.add(d.draw());
+
+        assertThat(all.size()).isEqualTo(Deck.SIZE);
+        assertThat(all.jokers()).isEqualTo(2);
+        for (int id = 0; id < Token.JOKER_ID; id++) assertThat(all.count(id)).isEqualTo(2);
+        assertThatThrownBy(d::draw).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName ("matches with the same seed deal the same hands.")
+    void test_2() {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        Player p3 = new Player("Hakan");
+        Player p4 = new Player("Okan");
+
+        Match m = new Match(new Player[] { p, p2 }, s -> {}, null, 7L);
+        Match m2 = new Match(new Player[] { p3, p4 }, s -> {}, null, 7L);
+
+        assertThat(p.hand).isEqualTo(p3.hand);
+        assertThat(p2.hand).isEqualTo(p4.hand);
+        assertThat(m.deck.remaining()).isEqualTo(Deck.SIZE - 29).isEqualTo(m2.deck.remaining());
+        assertThat(m.deck.draw()).isSameAs(m2.deck.draw());
+    }
+}
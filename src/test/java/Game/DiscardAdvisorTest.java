@@ -0,0 +1,61 @@
+package Game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class DiscardAdvisorTest {
+    @Test
+    @DisplayName ("the winning discard of a hand comes first and all other discards leave a hand, which doesn't win.")
+    void test_1() {
+        Hand h = new Hand(Token.of(1, 2), Token.of(1, 3), Token.of(1, 4), Token.of(1, 5), Token.of(1, 6), Token.of(1, 7),
+                Token.of(1, 8), Token.of(1, 9), Token.of(2, 1), Token.of(2, 2), Token.of(2, 3), Token.of(3, 4),
+                Token.of(3, 5), Token.of(3, 6), Token.of(0, 13));
+
+        List<DiscardAdvisor.Advice> advice = DiscardAdvisor.advise(h);
+
+        assertThat(advice).hasSize(15);
+        assertThat(advice.get(0)).isEqualTo(new DiscardAdvisor.Advice(Token.of(0, 13), 0));
+        assertThat(advice.get(0).wins()).isTrue();
+        assertThat(advice.subList(1, 15)).allSatisfy(a -> assertThat(a.distance()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName ("the distance of every discard is the same as computed from scratch for the remaining tokens.")
+    void test_2() {
+        SplittableRandom random = new SplittableRandom(7);
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        for (int i = 0; i < 5; i++) {
+            Deck deck = new Deck();
+            deck.shuffle(random);
+            Hand h = new Hand();
+            for (int j = 0; j < 15; j++) h.add(deck.draw());
+
+            for (DiscardAdvisor.Advice a : DiscardAdvisor.advise(h, new WinDistance().of(h), pool)) {
+                Hand rest = new Hand(h.byColor());
+                rest.remove(a.discard());
+                assertThat(a.distance()).isEqualTo(new WinDistance().of(rest));
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName ("every discard of a winning hand with a joker on top wins, since the joker takes the place of it.")
+    void test_3() {
+        Hand h = new Hand(Token.of(1, 2), Token.of(1, 3), Token.of(1, 4), Token.of(1, 5), Token.of(1, 6), Token.of(1, 7),
+                Token.of(1, 8), Token.of(1, 9), Token.of(2, 1), Token.of(2, 2), Token.of(2, 3), Token.of(3, 4),
+                Token.of(3, 5), Token.of(3, 6), Token.joker());
+
+        List<DiscardAdvisor.Advice> advice = DiscardAdvisor.advise(h);
+
+        assertThat(advice).hasSize(15).allSatisfy(a -> assertThat(a.wins()).isTrue());
+    }
+}
@@ -6,6 +6,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -73,7 +77,7 @@ public class GameTest {
         Token t;
 
         PrintWriter pw = new PrintWriter("TestInputs/test_8");
-        pw.println(String.format("%s\nexit", t = p.hand[0]));
+        pw.println(String.format("%s\nexit", t = p.hand.byColor()[0]));
         pw.close();
 
         m.start();
@@ -92,7 +96,7 @@ public class GameTest {
         Token t, t2;
 
         PrintWriter pw = new PrintWriter("TestInputs/test_9");
-        pw.println(String.format("%s\nnew\n%s\nexit", t = p.hand[0], t2 = p2.hand[0]));
+        pw.println(String.format("%s\nnew\n%s\nexit", t = p.hand.byColor()[0], t2 = p2.hand.byColor()[0]));
         pw.close();
 
         m.start();
@@ -109,13 +113,13 @@ public class GameTest {
         Game m = new Game(new Player[] { p, p2 }, new FileReader("TestInputs/test_10"), out);
 
         PrintWriter pw = new PrintWriter("TestInputs/test_10");
-        pw.println(String.format("%s\nnew\n%s\nexit", p.hand[0], p2.hand[0]));
+        pw.println(String.format("%s\nnew\n%s\nexit", p.hand.byColor()[0], p2.hand.byColor()[0]));
         pw.close();
 
         m.start();
 
-        assertThat(out.output.get(3)).isEqualTo("It's Okans turn.");
-        assertThat(out.output.get(6)).isEqualTo("It's Hakans turn.");
+        assertThat(out.output.get(4)).isEqualTo("It's Okans turn.");
+        assertThat(out.output.get(9)).isEqualTo("It's Hakans turn.");
     }
 
     /**
@@ -137,7 +141,7 @@ public class GameTest {
         wait(3);
 
         PrintWriter pw = new PrintWriter("TestInputs/test_11");
-        Token t = p.hand[0];
+        Token t = p.hand.byColor()[0];
         pw.println(t);
 
         wait(3);
@@ -151,38 +155,99 @@ public class GameTest {
         assertThat(out.output).hasSize(6);
     }
 
+    @Test
+    @DisplayName ("a game between bots is played without input, until a player lost.")
+    void test_12() {
+        Player p = new Player("Hakan", new GreedyStrategy());
+        Player p2 = new Player("Okan", new GreedyStrategy());
+        Game g = new Game(new Player[] { p, p2 }, new Game.Options().output(out));
+
+        g.start();
+
+        // the loser started with 10 points and lost 2 or 4 for every match the other one won
+        Player loser = g.getPlaceOf(p) == 2 ? p : p2;
+        Player winner = loser == p ? p2 : p;
+        assertThat(g.playersLeft()).isFalse();
+        assertThat(g.getPlaceOf(winner)).isEqualTo(1);
+        assertThat(g.getScoreOf(loser)).isLessThanOrEqualTo(0).isEven();
+        assertThat(g.getScoreOf(winner)).isPositive().isEven();
+        assertThat(out.output).doesNotContain("A player left or exited the game.");
+    }
+
+    @Test
+    @DisplayName ("the game ends, when a player doesn't answer within the turn timeout.")
+    void test_13() throws IOException {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        PipedWriter silent = new PipedWriter();
+        Game g = new Game(new Player[] { p, p2 }, new PipedReader(silent), out);
+        g.setTurnTimeout(Duration.ofMillis(50));
+
+        long start = System.nanoTime();
+        g.start();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(out.output).contains("A player left or exited the game.");
+        silent.close();
+    }
+
+    @Test
+    @DisplayName ("games between bots with the same seed play out the same way.")
+    void test_14() {
+        FakeOutput out2 = new FakeOutput();
+        Game g = new Game(bots(), new Game.Options().output(out).random(new SplittableRandom(7)));
+        Game g2 = new Game(bots(), new Game.Options().output(out2).random(new SplittableRandom(7)));
+
+        g.start();
+        g2.start();
+
+        assertThat(g2.getMatchesPlayed()).isEqualTo(g.getMatchesPlayed());
+        assertThat(out2.output).isEqualTo(out.output);
+    }
+
+    @Test
+    @DisplayName ("\"show\" shows the hand and which discards are best.")
+    void test_15() {
+        Game g = new Game(new Player[] { new Player("Hakan"), new Player("Okan") }, new StringReader("show\nexit"), out);
+
+        g.start();
+
+        assertThat(out.output).anyMatch(s -> s.startsWith("Throwing one of {") || s.startsWith("You win by throwing"));
+    }
+
     @Test
     @DisplayName ("the match will terminate after someone won the game.")
     void test_20() throws FileNotFoundException {
         Player p = new Player("Hakan");
         Player p2 = new Player("Okan");
 
-        Token[] tokens = new Token[15];
-        tokens[0] = new Token(1, 11);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(1, 3);
-        tokens[3] = new Token(1, 4);
-        tokens[4] = new Token(1, 12);
-        tokens[5] = new Token(1, 13);
-        tokens[6] = new Token(1, 1);
-        tokens[7] = new Token(0, 9);
-        tokens[8] = new Token(1, 9);
-        tokens[9] = new Token(2, 9);
-        tokens[10] = new Token(3, 9);
-        tokens[11] = new Token(0, 10);
-        tokens[12] = new Token(1, 10);
-        tokens[13] = new Token(2, 10);
-        tokens[14] = new Token(3, 10);
+        Token[] tokens = new Token[14];
+        tokens[0] = Token.of(1, 11);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(1, 3);
+        tokens[3] = Token.of(1, 4);
+        tokens[4] = Token.of(1, 12);
+        tokens[5] = Token.of(1, 13);
+        tokens[6] = Token.of(1, 1);
+        tokens[7] = Token.of(0, 9);
+        tokens[8] = Token.of(1, 9);
+        tokens[9] = Token.of(2, 9);
+        tokens[10] = Token.of(3, 9);
+        tokens[11] = Token.of(0, 10);
+        tokens[12] = Token.of(1, 10);
+        tokens[13] = Token.of(2, 10);
 
         Game g = new Game(new Player[] { p, p2 }, new FileReader("TestInputs/test_20"), out);
 
-        Token p1Throw = p.hand[0];
+        Token p1Throw = p.hand.byColor()[0];
 
         PrintWriter pw = new PrintWriter("TestInputs/test_20");
         pw.println(String.format("%s\nthrown\nwin %s\nexit", p1Throw, p1Throw));
         pw.close();
 
-        p2.hand = tokens;
+        p2.hand = new Hand(tokens);
+        String hand1 = p.hand.toString();
+        String hand2 = p2.hand.toString();
 
         g.start();
 
@@ -192,13 +257,28 @@ public class GameTest {
         String s4 = "It's Okans turn.";
         String s5 = "Do you want to take the thrown Token {" + p1Throw + "} or get a new one?";
         String s6 = "The thrown Token is {" + p1Throw + "}.";
-        String s7 = "There is 1 winning combination.";
-        String s8 = out.output.get(7);
+        // Rot 1 fits below the 2 and above the 13
+        String s7 = "There are 2 winning combinations.";
+        String s8 = out.output.get(10);
         String s9 = "The winner is Okan. Congratulations!!";
         String s10 = "The next match is about to start.\n\n\n\n\n";
-        String s11 = out.output.get(11);
+        // finishing with a joker counts double, which is told before the winner
+        boolean jokerWin = p1Throw == Token.joker();
+        String s11 = out.output.get(jokerWin ? 16 : 15);
         String s12 = "A player left or exited the game.";
+        String taken = out.output.get(7);
+        String nextHand = out.output.get(jokerWin ? 15 : 14);
+
+        List<String> expected = new ArrayList<>(List.of(s1, hand1, s2, s3, s4, hand2, s5, taken, s6, s7, s8));
+        if (jokerWin) expected.add("Okan won with a joker, so everyone else loses 4 points.");
+        expected.addAll(List.of(s9, s10, s1, nextHand, s11, s12));
+
+        assertThat(taken).isNotEqualTo(hand2).contains(p1Throw.toString());
+        assertThat(out.output).containsExactlyElementsOf(expected);
+    }
 
-        assertThat(out.output).containsExactly(s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s1, s11, s12);
+    private static Player[] bots() {
+        return new Player[] { new Player("Hakan", new GreedyStrategy()), new Player("Okan", new GreedyStrategy()),
+                new Player("Ayse", new GreedyStrategy()) };
     }
 }
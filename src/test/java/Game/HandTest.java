@@ -0,0 +1,126 @@
+package Game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class HandTest {
+
+    @Test
+    @DisplayName ("tokens can be added and removed, duplicates one at a time.")
+    void test_1() {
+        Hand h = new Hand(Token.of(1, 5), Token.of(1, 5), Token.joker(), Token.heavy());
+
+        assertThat(h.size()).isEqualTo(3);
+        assertThat(h.count(Token.of(1, 5))).isEqualTo(2);
+        assertThat(h.jokers()).isEqualTo(1);
+
+        assertThat(h.remove(Token.of(1, 5))).isTrue();
+        assertThat(h.contains(Token.of(1, 5))).isTrue();
+        assertThat(h.remove(Token.of(1, 5))).isTrue();
+        assertThat(h.contains(Token.of(1, 5))).isFalse();
+        assertThat(h.remove(Token.of(1, 5))).isFalse();
+        assertThat(h.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName ("the sorted views are sorted and follow changes of the hand.")
+    void test_2() {
+        Hand h = new Hand(Token.of(2, 1), Token.of(0, 3), Token.joker(), Token.of(0, 1));
+
+        assertThat(h.byColor()).containsExactly(Token.joker(), Token.of(0, 1), Token.of(0, 3), Token.of(2, 1));
+        assertThat(h.byNumber()).containsExactly(Token.joker(), Token.of(0, 1), Token.of(2, 1), Token.of(0, 3));
+
+        h.add(Token.of(3, 2));
+
+        assertThat(h.byNumber()).containsExactly(Token.joker(), Token.of(0, 1), Token.of(2, 1), Token.of(3, 2),
+                Token.of(0, 3));
+    }
+
+    @Test
+    @DisplayName ("the decompositions of a hand are enumerated one by one and only as many as asked for.")
+    void test_3() {
+        Hand h = new Hand(Token.of(1, 1), Token.of(1, 2), Token.of(1, 3), Token.of(1, 4), Token.of(0, 9), Token.of(1, 9),
+                Token.of(2, 9), Token.of(3, 9), Token.of(0, 10), Token.of(1, 10), Token.of(2, 10), Token.of(1, 11),
+                Token.of(1, 12), Token.of(1, 13));
+
+        List<List<Token[]>> all = h.decompositions().collect(Collectors.toList());
+        assertThat(all).hasSize(2);
+        assertThat(all.get(0).stream().map(Arrays::toString)).containsExactly("[Rot 1, Rot 2, Rot 3, Rot 4]",
+                "[Gelb 9, Rot 9, Blau 9, Schwarz 9]", "[Gelb 10, Rot 10, Blau 10]", "[Rot 11, Rot 12, Rot 13]");
+        assertThat(all.get(1).stream().map(Arrays::toString)).containsExactly("[Rot 11, Rot 12, Rot 13, Rot 1]",
+                "[Rot 2, Rot 3, Rot 4]", "[Gelb 9, Rot 9, Blau 9, Schwarz 9]", "[Gelb 10, Rot 10, Blau 10]");
+
+        h.remove(Token.of(1, 4));
+        h.add(Token.joker());
+        assertThat(h.decompositions().count()).isGreaterThan(1);
+        assertThat(h.decompositions().limit(2).count()).isEqualTo(2);
+
+        h.remove(Token.of(1, 13));
+        assertThat(h.decompositions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName ("every decomposition uses exactly the tokens of the hand, none comes twice and there is one for every "
+            + "winning hand.")
+    void test_4() {
+        SplittableRandom random = new SplittableRandom(7);
+        HandEvaluator evaluator = new HandEvaluator();
+
+        for (int i = 0; i < 500; i++) {
+            Hand h = i % 2 == 0 ? winningHand(random) : randomHand(random);
+            Set<String> seen = new HashSet<>();
+
+            h.decompositions().forEach(d -> {
+                Hand used = new Hand(d.stream().flatMap(Arrays::stream).toArray(Token[]::new));
+                assertThat(used).isEqualTo(h);
+                assertThat(d).allSatisfy(c -> assertThat(c.length).isGreaterThanOrEqualTo(2));
+                assertThat(seen.add(d.stream().map(Arrays::toString).sorted().collect(Collectors.joining()))).isTrue();
+            });
+
+            assertThat(!seen.isEmpty()).isEqualTo(evaluator.isWinning(h));
+            if (i % 2 == 0) assertThat(seen).isNotEmpty();
+        }
+    }
+
+    /**
+     * Builds a hand from random runs and sets and swaps up to two of its tokens for jokers.
+     */
+    private static Hand winningHand(SplittableRandom random) {
+        int[][] sizes = { { 3, 3, 4, 4 }, { 3, 3, 3, 5 }, { 4, 5, 5 }, { 3, 3, 3, 5 } };
+        while (true) {
+            List<Token> tokens = new ArrayList<>();
+            for (int size : sizes[random.nextInt(sizes.length)]) {
+                if (size <= 4 && random.nextBoolean()) {
+                    int number = 1 + random.nextInt(13), skipped = size == 3 ? random.nextInt(4) : -1;
+                    for (int c = 0; c < 4; c++) if (c != skipped) tokens.add(Token.of(c, number));
+                } else {
+                    int color = random.nextInt(4), start = 1 + random.nextInt(15 - size);
+                    for (int p = start; p < start + size; p++) tokens.add(Token.of(color, p == 14 ? 1 : p));
+                }
+            }
+            Hand h = new Hand(tokens.toArray(Token[]::new));
+            if (tokens.stream().anyMatch(t -> h.count(t) > 2)) continue;
+
+            for (int j = random.nextInt(3); j > 0; j--) {
+                h.remove(tokens.get(random.nextInt(tokens.size())));
+                h.add(Token.joker());
+                if (h.size() != 14) h.remove(Token.joker());
+            }
+            if (h.size() == 14) return h;
+        }
+    }
+
+    private static Hand randomHand(SplittableRandom random) {
+        Deck deck = new Deck();
+        deck.shuffle(random);
+        Hand h = new Hand();
+        for (int i = 0; i < 14; i++) h.add(deck.draw());
+        return h;
+    }
+}
@@ -0,0 +1,60 @@
+package Game;
+
+import Simulation.Simulator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class MatchLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName ("every logged match plays out the same way, when it is replayed.")
+    void test_1() throws IOException {
+        Path file = dir.resolve("matches.log");
+        Simulator.Result played;
+        try (MatchLog log = new MatchLog(file)) {
+            Simulator simulator = new Simulator(3, GreedyStrategy::new);
+            simulator.setLog(log);
+            played = simulator.run(5, 2);
+        }
+
+        MatchReplayer.Result replayed = new MatchReplayer(file).replay(2);
+
+        assertThat(replayed.matches()).isEqualTo(played.matches());
+        assertThat(replayed.verified()).isEqualTo(replayed.matches());
+    }
+
+    @Test
+    @DisplayName ("a changed record is found by the replay.")
+    void test_2() throws IOException {
+        Path file = dir.resolve("matches.log");
+        try (MatchLog log = new MatchLog(file)) {
+            Player[] players = { new Player("Hakan", new GreedyStrategy()), new Player("Okan", new GreedyStrategy()) };
+            Match match = new Match(players, Output.NullOutput.INSTANCE, null, 7L);
+            match.listener = log.newMatch();
+            match.start();
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            // the second record is the first throw, make it throw another token
+            raf.seek(MatchLog.RECORD_SIZE + 2);
+            byte token = raf.readByte();
+            raf.seek(MatchLog.RECORD_SIZE + 2);
+            raf.writeByte(token == 0 ? 1 : 0);
+        }
+
+        MatchReplayer.Result replayed = new MatchReplayer(file).replay(1);
+
+        assertThat(replayed.matches()).isEqualTo(1);
+        assertThat(replayed.diverged()).isEqualTo(1);
+    }
+}
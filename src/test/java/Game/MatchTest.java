@@ -7,14 +7,19 @@ import Output.FakeOutput;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 
 @DisplayName ("This test tests, if ")
 public class MatchTest {
-    private static final Token HEAVY = new Token(Token.HEAVY, -1);
+    private static final Token HEAVY = Token.of(Token.HEAVY, -1);
     FakeOutput out = new FakeOutput();
 
     @Test
@@ -45,12 +50,12 @@ public class MatchTest {
         Player p = new Player("Hakan");
         new Match(new Player[] { p, p }, null);
         assertThat(p.hand).isNotNull();
-        assertThat(p.hand).isNotEmpty();
-        assertThat(p.hand).doesNotContain((Token) null);
+        assertThat(p.hand.size()).isEqualTo(15);
+        assertThat(p.hand.byColor()).doesNotContain((Token) null);
     }
 
     @Test
-    @DisplayName ("when we have an instance of a match the all other players, but the first, have a hand of tokens, with 14 Tokens and one heavy.")
+    @DisplayName ("when we have an instance of a match the all other players, but the first, have a hand of tokens, with 14 Tokens and no heavy.")
     void test_5() {
         Player p = new Player("Hakan");
         Player p2 = new Player("Okan");
@@ -58,12 +63,12 @@ public class MatchTest {
 
         new Match(new Player[] { p, p2, p3 }, null);
         assertThat(p2.hand).isNotNull();
-        assertThat(p2.hand).isNotEmpty();
-        assertThat(p2.hand[14]).usingComparator(Token::compareToStatic).isEqualTo(HEAVY);
+        assertThat(p2.hand.size()).isEqualTo(14);
+        assertThat(p2.hand.contains(HEAVY)).isFalse();
 
         assertThat(p3.hand).isNotNull();
-        assertThat(p3.hand).isNotEmpty();
-        assertThat(p3.hand[14]).usingComparator(Token::compareToStatic).isEqualTo(HEAVY);
+        assertThat(p3.hand.size()).isEqualTo(14);
+        assertThat(p3.hand.contains(HEAVY)).isFalse();
     }
 
     @Test
@@ -74,23 +79,23 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(1, 3);
-        tokens[3] = new Token(1, 4);
-        tokens[4] = new Token(1, 5);
-        tokens[5] = new Token(1, 6);
-        tokens[6] = new Token(1, 7);
-        tokens[7] = new Token(1, 8);
-        tokens[8] = new Token(1, 9);
-        tokens[9] = new Token(2, 1);
-        tokens[10] = new Token(2, 2);
-        tokens[11] = new Token(2, 3);
-        tokens[12] = new Token(3, 4);
-        tokens[13] = new Token(3, 5);
-        tokens[14] = new Token(3, 6);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(1, 3);
+        tokens[3] = Token.of(1, 4);
+        tokens[4] = Token.of(1, 5);
+        tokens[5] = Token.of(1, 6);
+        tokens[6] = Token.of(1, 7);
+        tokens[7] = Token.of(1, 8);
+        tokens[8] = Token.of(1, 9);
+        tokens[9] = Token.of(2, 1);
+        tokens[10] = Token.of(2, 2);
+        tokens[11] = Token.of(2, 3);
+        tokens[12] = Token.of(3, 4);
+        tokens[13] = Token.of(3, 5);
+        tokens[14] = Token.of(3, 6);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isTrue();
     }
@@ -103,23 +108,23 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(2, 2);
-        tokens[3] = new Token(3, 2);
-        tokens[4] = new Token(0, 2);
-        tokens[5] = new Token(1, 6);
-        tokens[6] = new Token(2, 6);
-        tokens[7] = new Token(3, 6);
-        tokens[8] = new Token(0, 6);
-        tokens[9] = new Token(1, 1);
-        tokens[10] = new Token(2, 1);
-        tokens[11] = new Token(3, 1);
-        tokens[12] = new Token(1, 4);
-        tokens[13] = new Token(2, 4);
-        tokens[14] = new Token(3, 4);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(2, 2);
+        tokens[3] = Token.of(3, 2);
+        tokens[4] = Token.of(0, 2);
+        tokens[5] = Token.of(1, 6);
+        tokens[6] = Token.of(2, 6);
+        tokens[7] = Token.of(3, 6);
+        tokens[8] = Token.of(0, 6);
+        tokens[9] = Token.of(1, 1);
+        tokens[10] = Token.of(2, 1);
+        tokens[11] = Token.of(3, 1);
+        tokens[12] = Token.of(1, 4);
+        tokens[13] = Token.of(2, 4);
+        tokens[14] = Token.of(3, 4);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isTrue();
     }
@@ -133,23 +138,23 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(1, 3);
-        tokens[3] = new Token(1, 4);
-        tokens[4] = new Token(1, 5);
-        tokens[5] = new Token(1, 6);
-        tokens[6] = new Token(1, 7);
-        tokens[7] = new Token(0, 9);
-        tokens[8] = new Token(1, 9);
-        tokens[9] = new Token(2, 9);
-        tokens[10] = new Token(3, 9);
-        tokens[11] = new Token(0, 10);
-        tokens[12] = new Token(1, 10);
-        tokens[13] = new Token(2, 10);
-        tokens[14] = new Token(3, 10);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(1, 3);
+        tokens[3] = Token.of(1, 4);
+        tokens[4] = Token.of(1, 5);
+        tokens[5] = Token.of(1, 6);
+        tokens[6] = Token.of(1, 7);
+        tokens[7] = Token.of(0, 9);
+        tokens[8] = Token.of(1, 9);
+        tokens[9] = Token.of(2, 9);
+        tokens[10] = Token.of(3, 9);
+        tokens[11] = Token.of(0, 10);
+        tokens[12] = Token.of(1, 10);
+        tokens[13] = Token.of(2, 10);
+        tokens[14] = Token.of(3, 10);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isTrue();
     }
@@ -162,23 +167,23 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(1, 3);
-        tokens[3] = new Token(1, 4);
-        tokens[4] = new Token(1, 5);
-        tokens[5] = new Token(1, 6);
-        tokens[6] = new Token(-1, -1);
-        tokens[7] = new Token(0, 9);
-        tokens[8] = new Token(1, 9);
-        tokens[9] = new Token(2, 9);
-        tokens[10] = new Token(3, 9);
-        tokens[11] = new Token(0, 10);
-        tokens[12] = new Token(1, 10);
-        tokens[13] = new Token(2, 10);
-        tokens[14] = new Token(3, 10);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(1, 3);
+        tokens[3] = Token.of(1, 4);
+        tokens[4] = Token.of(1, 5);
+        tokens[5] = Token.of(1, 6);
+        tokens[6] = Token.of(-1, -1);
+        tokens[7] = Token.of(0, 9);
+        tokens[8] = Token.of(1, 9);
+        tokens[9] = Token.of(2, 9);
+        tokens[10] = Token.of(3, 9);
+        tokens[11] = Token.of(0, 10);
+        tokens[12] = Token.of(1, 10);
+        tokens[13] = Token.of(2, 10);
+        tokens[14] = Token.of(3, 10);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isTrue();
     }
@@ -191,23 +196,23 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(1, 3);
-        tokens[3] = new Token(1, 4);
-        tokens[4] = new Token(1, 5);
-        tokens[5] = new Token(1, 6);
-        tokens[6] = new Token(-1, -1);
-        tokens[7] = new Token(0, 9);
-        tokens[8] = new Token(1, 9);
-        tokens[9] = new Token(0, 10);
-        tokens[10] = new Token(1, 10);
-        tokens[11] = new Token(-1, -1);
-        tokens[12] = new Token(1, 7);
-        tokens[13] = new Token(1, 8);
-        tokens[14] = new Token(1, 9);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(1, 3);
+        tokens[3] = Token.of(1, 4);
+        tokens[4] = Token.of(1, 5);
+        tokens[5] = Token.of(1, 6);
+        tokens[6] = Token.of(-1, -1);
+        tokens[7] = Token.of(0, 9);
+        tokens[8] = Token.of(1, 9);
+        tokens[9] = Token.of(0, 10);
+        tokens[10] = Token.of(1, 10);
+        tokens[11] = Token.of(-1, -1);
+        tokens[12] = Token.of(1, 7);
+        tokens[13] = Token.of(1, 8);
+        tokens[14] = Token.of(1, 9);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isTrue();
     }
@@ -220,23 +225,23 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, out, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(1, 3);
-        tokens[3] = new Token(0, 4);
-        tokens[4] = new Token(1, 5);
-        tokens[5] = new Token(1, 6);
-        tokens[6] = new Token(1, 7);
-        tokens[7] = new Token(0, 9);
-        tokens[8] = new Token(1, 9);
-        tokens[9] = new Token(2, 9);
-        tokens[10] = new Token(3, 9);
-        tokens[11] = new Token(0, 10);
-        tokens[12] = new Token(1, 10);
-        tokens[13] = new Token(2, 10);
-        tokens[14] = new Token(3, 10);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(1, 3);
+        tokens[3] = Token.of(0, 4);
+        tokens[4] = Token.of(1, 5);
+        tokens[5] = Token.of(1, 6);
+        tokens[6] = Token.of(1, 7);
+        tokens[7] = Token.of(0, 9);
+        tokens[8] = Token.of(1, 9);
+        tokens[9] = Token.of(2, 9);
+        tokens[10] = Token.of(3, 9);
+        tokens[11] = Token.of(0, 10);
+        tokens[12] = Token.of(1, 10);
+        tokens[13] = Token.of(2, 10);
+        tokens[14] = Token.of(3, 10);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isFalse();
     }
@@ -249,23 +254,23 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(1, 3);
-        tokens[3] = new Token(1, 4);
-        tokens[4] = new Token(1, 12);
-        tokens[5] = new Token(1, 13);
-        tokens[6] = new Token(1, 1);
-        tokens[7] = new Token(0, 9);
-        tokens[8] = new Token(1, 9);
-        tokens[9] = new Token(2, 9);
-        tokens[10] = new Token(3, 9);
-        tokens[11] = new Token(0, 10);
-        tokens[12] = new Token(1, 10);
-        tokens[13] = new Token(2, 10);
-        tokens[14] = new Token(3, 10);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(1, 3);
+        tokens[3] = Token.of(1, 4);
+        tokens[4] = Token.of(1, 12);
+        tokens[5] = Token.of(1, 13);
+        tokens[6] = Token.of(1, 1);
+        tokens[7] = Token.of(0, 9);
+        tokens[8] = Token.of(1, 9);
+        tokens[9] = Token.of(2, 9);
+        tokens[10] = Token.of(3, 9);
+        tokens[11] = Token.of(0, 10);
+        tokens[12] = Token.of(1, 10);
+        tokens[13] = Token.of(2, 10);
+        tokens[14] = Token.of(3, 10);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isTrue();
     }
@@ -278,28 +283,303 @@ public class MatchTest {
         Match m = new Match(new Player[] { p, p2 }, null);
 
         Token[] tokens = new Token[15];
-        tokens[0] = new Token(Token.HEAVY, -1);
-        tokens[1] = new Token(1, 2);
-        tokens[2] = new Token(2, 2);
-        tokens[3] = new Token(3, 2);
-        tokens[4] = new Token(0, 2);
-        tokens[5] = new Token(1, 2);
-        tokens[6] = new Token(2, 2);
-        tokens[7] = new Token(3, 2);
-        tokens[8] = new Token(0, 2);
-        tokens[9] = new Token(1, 1);
-        tokens[10] = new Token(2, 1);
-        tokens[11] = new Token(3, 1);
-        tokens[12] = new Token(1, 4);
-        tokens[13] = new Token(2, 4);
-        tokens[14] = new Token(3, 4);
-
-        p.hand = tokens;
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 2);
+        tokens[2] = Token.of(2, 2);
+        tokens[3] = Token.of(3, 2);
+        tokens[4] = Token.of(0, 2);
+        tokens[5] = Token.of(1, 2);
+        tokens[6] = Token.of(2, 2);
+        tokens[7] = Token.of(3, 2);
+        tokens[8] = Token.of(0, 2);
+        tokens[9] = Token.of(1, 1);
+        tokens[10] = Token.of(2, 1);
+        tokens[11] = Token.of(3, 1);
+        tokens[12] = Token.of(1, 4);
+        tokens[13] = Token.of(2, 4);
+        tokens[14] = Token.of(3, 4);
+
+        p.hand = new Hand(tokens);
 
         assertThat(m.currPlayerWon()).isTrue();
     }
 
 
+    @Test
+    @DisplayName ("a player with a straight warping around the 1 (13->1->2) is not declared the winner.")
+    void test_22() {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        Match m = new Match(new Player[] { p, p2 }, out, null);
+
+        Token[] tokens = new Token[15];
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 13);
+        tokens[2] = Token.of(1, 1);
+        tokens[3] = Token.of(1, 2);
+        tokens[4] = Token.of(0, 3);
+        tokens[5] = Token.of(0, 4);
+        tokens[6] = Token.of(0, 5);
+        tokens[7] = Token.of(2, 6);
+        tokens[8] = Token.of(2, 7);
+        tokens[9] = Token.of(2, 8);
+        tokens[10] = Token.of(3, 9);
+        tokens[11] = Token.of(3, 10);
+        tokens[12] = Token.of(3, 11);
+        tokens[13] = Token.of(3, 12);
+        tokens[14] = Token.of(3, 13);
+
+        p.hand = new Hand(tokens);
+
+        assertThat(m.currPlayerWon()).isFalse();
+    }
+
+    @Test
+    @DisplayName ("a player with a winning hand is declared the winner. Jokers inside a straight and at the end of one.")
+    void test_23() {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        Match m = new Match(new Player[] { p, p2 }, out, null);
+
+        Token[] tokens = new Token[15];
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        tokens[1] = Token.of(1, 12);
+        tokens[2] = Token.of(1, 13);
+        tokens[3] = Token.of(1, 1);
+        tokens[4] = Token.of(0, 5);
+        tokens[5] = Token.of(-1, -1);
+        tokens[6] = Token.of(0, 7);
+        tokens[7] = Token.of(0, 2);
+        tokens[8] = Token.of(1, 2);
+        tokens[9] = Token.of(2, 2);
+        tokens[10] = Token.of(3, 2);
+        tokens[11] = Token.of(2, 9);
+        tokens[12] = Token.of(2, 10);
+        tokens[13] = Token.of(2, 11);
+        tokens[14] = Token.of(-1, -1);
+
+        p.hand = new Hand(tokens);
+
+        assertThat(m.currPlayerWon()).isTrue();
+        // the second joker fits at either end of the blue run, at either end of the yellow one or below the red one
+        assertThat(out.output).contains("There are 5 winning combinations.");
+    }
+
+    @Test
+    @DisplayName ("a hand of seven pairs wins and counts double. A joker pairs with a single token.")
+    void test_24() {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        Match m = new Match(new Player[] { p, p2 }, out, null);
+
+        Token[] tokens = new Token[15];
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        for (int i = 0; i < 6; i++) {
+            tokens[1 + 2 * i] = Token.of(i % 4, 2 * i + 1);
+            tokens[2 + 2 * i] = Token.of(i % 4, 2 * i + 1);
+        }
+        tokens[13] = Token.of(3, 13);
+        tokens[14] = Token.of(-1, -1);
+
+        p.hand = new Hand(tokens);
+
+        assertThat(m.currPlayerWon()).isTrue();
+        assertThat(m.winType).isEqualTo(WinType.SEVEN_PAIRS);
+        assertThat(m.winType.points()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName ("finishing with a joker counts double, an ordinary win counts 2 points.")
+    void test_25() {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        Match m = new Match(new Player[] { p, p2 }, out, null);
+
+        Token[] tokens = new Token[15];
+        tokens[0] = Token.of(Token.HEAVY, -1);
+        for (int i = 0; i < 8; i++) tokens[1 + i] = Token.of(1, 2 + i);
+        tokens[9] = Token.of(2, 1);
+        tokens[10] = Token.of(2, 2);
+        tokens[11] = Token.of(2, 3);
+        tokens[12] = Token.of(3, 4);
+        tokens[13] = Token.of(3, 5);
+        tokens[14] = Token.of(3, 6);
+        p.hand = new Hand(tokens);
+
+        assertThat(m.currPlayerWon()).isTrue();
+        assertThat(m.winType).isEqualTo(WinType.ORDINARY);
+        assertThat(m.winType.points()).isEqualTo(2);
+
+        m.lastThrown = Token.joker();
+        assertThat(m.currPlayerWon()).isTrue();
+        assertThat(m.winType).isEqualTo(WinType.JOKER_DISCARD);
+    }
+
+    @Test
+    @DisplayName ("the win check without output finds a winning discard and nothing else.")
+    void test_26() {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        Match m = new Match(new Player[] { p, p2 }, out, null);
+
+        p.hand = new Hand(Token.of(1, 2), Token.of(1, 3), Token.of(1, 4), Token.of(1, 5), Token.of(1, 6), Token.of(1, 7),
+                Token.of(1, 8), Token.of(1, 9), Token.of(2, 1), Token.of(2, 2), Token.of(2, 3), Token.of(3, 4),
+                Token.of(3, 5), Token.of(3, 6), Token.of(0, 13));
+
+        assertThat(m.wins(p, Token.of(0, 13))).isTrue();
+        assertThat(m.wins(p, Token.of(1, 2))).isFalse();
+        assertThat(m.wins(p, Token.of(0, 12))).isFalse();
+        assertThat(new HandEvaluator().findWinningDiscard(p.hand, null)).isEqualTo(Token.of(0, 13));
+        assertThat(out.output).isEmpty();
+    }
+
+    @Test
+    @DisplayName ("a bot, whose claim is wrong, throws the token anyway and the match ends, when a strategy left.")
+    void test_27() {
+        Strategy claimsFirst = new Strategy() {
+            int discards;
+
+            @Override
+            public boolean takeThrown(Hand hand, Token thrown) {
+                return false;
+            }
+
+            @Override
+            public Token discard(Hand hand) {
+                discards++;
+                return hand.byColor()[discards - 1];
+            }
+
+            @Override
+            public boolean declareWin(Hand hand, Token discard) {
+                return discards == 1;
+            }
+        };
+        Strategy leaves = new Strategy() {
+            @Override
+            public boolean takeThrown(Hand hand, Token thrown) {
+                return true;
+            }
+
+            @Override
+            public Token discard(Hand hand) {
+                return null;
+            }
+
+            @Override
+            public boolean declareWin(Hand hand, Token discard) {
+                return false;
+            }
+
+            @Override
+            public boolean hasLeft() {
+                return true;
+            }
+        };
+        Player p = new Player("Hakan", claimsFirst);
+        Player p2 = new Player("Okan", leaves);
+        Match m = new Match(new Player[] { p, p2 }, out, null, 3);
+        Token first = p.hand.byColor()[0];
+
+        assertThat(m.wins(p, first)).isFalse();
+        assertThat(m.start()).isNull();
+        assertThat(m.lastThrown).isEqualTo(first);
+        assertThat(p.hand.size()).isEqualTo(14);
+        assertThat(p2.hand.size()).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName ("a player, who types \"exit\" when he has to throw a token, leaves the match at once.")
+    void test_28() throws IOException {
+        Player p = new Player("Hakan");
+        Player p2 = new Player("Okan");
+        PipedWriter input = new PipedWriter();
+        Game g = new Game(new Player[] { p, p2 }, new PipedReader(input), out);
+        g.setTurnTimeout(Duration.ofSeconds(3));
+        Match m = new Match(new Player[] { p, p2 }, out, g, 3);
+        input.write("exit\n");
+        input.flush();
+
+        long start = System.nanoTime();
+        assertThat(m.start()).isNull();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(p.hand.size()).isEqualTo(15);
+        input.close();
+    }
+
+    @Test
+    @DisplayName ("a bot, which claims the win with every token, doesn't stall the match.")
+    void test_29() {
+        Strategy alwaysClaims = new GreedyStrategy() {
+            @Override
+            public boolean declareWin(Hand hand, Token discard) {
+                return true;
+            }
+        };
+        Player p = new Player("Hakan", alwaysClaims);
+        Player p2 = new Player("Okan", new GreedyStrategy());
+        Match m = new Match(new Player[] { p, p2 }, out, null, 3);
+
+        Player winner = assertTimeoutPreemptively(Duration.ofSeconds(10), m::start);
+        assertThat(winner).isSameAs(m.winner);
+        assertThat(m.lastThrown).isNotNull();
+    }
+
+        @Test
+    @DisplayName ("a bot, which claims the win with a token it doesn't have, is asked once more and throws a token " +
+            "of its hand.")
+    void test_30() {
+        Strategy claimsMissing = new Strategy() {
+            int discards;
+
+            @Override
+            public boolean takeThrown(Hand hand, Token thrown) {
+                return false;
+            }
+
+            @Override
+            public Token discard(Hand hand) {
+                if (++discards > 1) return hand.byColor()[0];
+                for (int id = 0; ; id++) if (!hand.contains(Token.byId(id))) return Token.byId(id);
+            }
+
+            @Override
+            public boolean declareWin(Hand hand, Token discard) {
+                return true;
+            }
+        };
+        Strategy leaves = new Strategy() {
+            @Override
+            public boolean takeThrown(Hand hand, Token thrown) {
+                return false;
+            }
+
+            @Override
+            public Token discard(Hand hand) {
+                return null;
+            }
+
+            @Override
+            public boolean declareWin(Hand hand, Token discard) {
+                return false;
+            }
+
+            @Override
+            public boolean hasLeft() {
+                return true;
+            }
+        };
+        Player p = new Player("Hakan", claimsMissing);
+        Player p2 = new Player("Okan", leaves);
+        Match m = new Match(new Player[] { p, p2 }, out, null, 3);
+        Token first = p.hand.byColor()[0];
+
+        assertThat(m.start()).isNull();
+        assertThat(m.lastThrown).isEqualTo(first);
+        assertThat(p.hand.size()).isEqualTo(14);
+    }
+
     void wait(int i) throws InterruptedException {
         synchronized (TimeUnit.MILLISECONDS) {
             TimeUnit.MILLISECONDS.wait(i * 1000L);
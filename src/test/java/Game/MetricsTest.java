@@ -0,0 +1,83 @@
+package Game;
+
+import Output.NullOutput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName ("This test tests, if ")
+public class MetricsTest {
+    @Test
+    @DisplayName ("the histogram knows its percentiles up to about 3 percent, with small values exactly.")
+    void test_1() {
+        Histogram h = new Histogram();
+        for (int i = 1; i <= 100_000; i++) h.record(i * 1000L);
+
+        assertThat(h.count()).isEqualTo(100_000);
+        assertThat(h.max()).isEqualTo(100_000_000);
+        assertThat(h.mean()).isCloseTo(50_000_500, within(1.0));
+        assertThat(h.percentile(50)).isCloseTo(50_000_000, within(1_600_000L));
+        assertThat(h.percentile(99)).isCloseTo(99_000_000, within(3_100_000L));
+        assertThat(h.percentile(100)).isEqualTo(100_000_000);
+
+        Histogram small = new Histogram();
+        for (int i = 0; i < 50; i++) small.record(i);
+        assertThat(small.percentile(50)).isEqualTo(24);
+        assertThat(new Histogram().percentile(50)).isZero();
+    }
+
+    @Test
+    @DisplayName ("a match records its deal, draws, turns and how it was won.")
+    void test_2() {
+        Player[] players = { new Player("A", new GreedyStrategy()), new Player("B", new GreedyStrategy()) };
+        Metrics metrics = new Metrics(true);
+        Match match = new Match(players, NullOutput.INSTANCE, null, 7L, metrics);
+        match.start();
+
+        assertThat(metrics.deal.count()).isEqualTo(1);
+        assertThat(metrics.getMatches()).isEqualTo(1);
+        assertThat(metrics.turns.count()).isEqualTo(1);
+        assertThat(metrics.getTurnsMax()).isPositive();
+        assertThat(metrics.draw.count()).isPositive().isLessThan(metrics.getTurnsMax());
+        if (match.winner != null) {
+            assertThat(metrics.winCheck.count()).isPositive();
+            assertThat(metrics.getMatches() - metrics.getExhaustedMatches()).isEqualTo(1);
+        } else {
+            assertThat(metrics.getExhaustedMatches()).isEqualTo(1);
+        }
+        assertThat(metrics.toString()).contains("Matches: 1", "Draw:");
+    }
+
+    @Test
+    @DisplayName ("disabled metrics record nothing.")
+    void test_3() {
+        Player[] players = { new Player("A", new GreedyStrategy()), new Player("B", new GreedyStrategy()) };
+        Metrics metrics = new Metrics(false);
+        Match match = new Match(players, NullOutput.INSTANCE, null, 7L, metrics);
+        match.start();
+
+        assertThat(metrics.start()).isZero();
+        assertThat(metrics.getMatches()).isZero();
+        assertThat(metrics.draw.count()).isZero();
+        assertThat(metrics.turns.count()).isZero();
+    }
+
+    @Test
+    @DisplayName ("a game records the deal of its match and how long it waited for the input of a player.")
+    void test_4() {
+        Player[] players = { new Player("A"), new Player("B", new GreedyStrategy()) };
+        Metrics metrics = new Metrics(true);
+        Game game = new Game(players, new Game.Options().input(new InputChannel(new StringReader("exit\n")))
+                .output(NullOutput.INSTANCE).random(new SplittableRandom(7)).metrics(metrics));
+        game.start();
+
+        assertThat(metrics.deal.count()).isEqualTo(1);
+        assertThat(metrics.inputWait.count()).isEqualTo(1);
+        assertThat(metrics.getMatchesLeft()).isEqualTo(1);
+    }
+}
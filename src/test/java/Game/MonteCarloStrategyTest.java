@@ -0,0 +1,43 @@
+package Game;
+
+import Output.NullOutput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class MonteCarloStrategyTest {
+    @Test
+    @DisplayName ("the bot throws a winning discard and claims the win without searching.")
+    void test_1() {
+        MonteCarloStrategy bot = new MonteCarloStrategy(Duration.ofSeconds(10));
+        Hand h = new Hand(Token.of(1, 2), Token.of(1, 3), Token.of(1, 4), Token.of(1, 5), Token.of(1, 6), Token.of(1, 7),
+                Token.of(1, 8), Token.of(1, 9), Token.of(2, 1), Token.of(2, 2), Token.of(2, 3), Token.of(3, 4),
+                Token.of(3, 5), Token.of(3, 6), Token.of(0, 13));
+
+        assertThat(bot.discard(h)).isEqualTo(Token.of(0, 13));
+        assertThat(bot.declareWin(h, Token.of(0, 13))).isTrue();
+        assertThat(bot.rollouts()).isZero();
+    }
+
+    @Test
+    @DisplayName ("the bot plays a whole match within its budget on a pool of its own and reports its rollouts.")
+    void test_2() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        MonteCarloStrategy bot = new MonteCarloStrategy(Duration.ofMillis(5), pool, new SplittableRandom(1));
+        Player[] players = { new Player("Hakan", bot), new Player("Okan", new GreedyStrategy()) };
+
+        Match m = new Match(players, NullOutput.INSTANCE, null, 11);
+        m.start();
+        pool.shutdown();
+
+        assertThat(m.winner != null || m.exhausted).isTrue();
+        assertThat(bot.rollouts()).isPositive();
+        assertThat(bot.rolloutsPerSecond()).isPositive();
+    }
+}
@@ -17,11 +17,11 @@ public class SpecialsSetsTest {
     @Test
     @DisplayName ("the method subsetsWithMinSize works.")
     void test_1() {
-        Token t = new Token(1, 1);
-        Token t2 = new Token(1, 2);
-        Token t3 = new Token(1, 3);
-        Token t4 = new Token(1, 4);
-        Token t5 = new Token(1, 5);
+        Token t = Token.of(1, 1);
+        Token t2 = Token.of(1, 2);
+        Token t3 = Token.of(1, 3);
+        Token t4 = Token.of(1, 4);
+        Token t5 = Token.of(1, 5);
 
         Set<Token[]> set = new Sets<Token>().subsetsWithMinSize(Token.class, List.of(t, t2, t3, t4, t5), 3);
 
@@ -44,11 +44,11 @@ public class SpecialsSetsTest {
     @Test
     @DisplayName ("the method powerSetWithMaxSize works.")
     void test_2() {
-        Token t = new Token(1, 1);
-        Token t2 = new Token(1, 2);
-        Token t3 = new Token(1, 3);
-        Token t4 = new Token(1, 4);
-        Token t5 = new Token(1, 5);
+        Token t = Token.of(1, 1);
+        Token t2 = Token.of(1, 2);
+        Token t3 = Token.of(1, 3);
+        Token t4 = Token.of(1, 4);
+        Token t5 = Token.of(1, 5);
 
         Set<Set<Token>> set = new Sets<Token>().powerSetWithMaxSize(Set.of(t, t2, t3), 3);
 
@@ -0,0 +1,32 @@
+package Game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName ("This test tests, if ")
+public class TokenTest {
+
+    @Test
+    @DisplayName ("there is only one instance of each token.")
+    void test_1() {
+        assertThat(Token.of(1, 5)).isSameAs(Token.of(Token.ROT, 5));
+        assertThat(Token.of(3, 13).successor()).isSameAs(Token.of(3, 1));
+        assertThat(Token.of(3, 1).predecessor()).isSameAs(Token.of(3, 13));
+        assertThat(Token.of(-1, -1)).isSameAs(Token.joker());
+        assertThat(Token.byId(Token.of(2, 7).getId())).isSameAs(Token.of(2, 7));
+    }
+
+    @Test
+    @DisplayName ("tokens are read the way they are printed.")
+    void test_2() {
+        for (int id = 0; id <= Token.JOKER_ID; id++)
+            assertThat(Token.parse(Token.byId(id).toString())).isSameAs(Token.byId(id));
+
+        assertThatThrownBy(() -> Token.parse("Lila 5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Token.parse("Gelb 14")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Token.parse("Gelb")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
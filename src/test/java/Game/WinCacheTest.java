@@ -0,0 +1,39 @@
+package Game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class WinCacheTest {
+    private static final Hand WINNING = new Hand(
+            Token.of(1, 2), Token.of(1, 3), Token.of(1, 4), Token.of(1, 5), Token.of(1, 6), Token.of(1, 7),
+            Token.of(0, 9), Token.of(1, 9), Token.of(2, 9), Token.of(3, 9),
+            Token.of(0, 10), Token.of(1, 10), Token.of(2, 10), Token.of(3, 10));
+
+    @Test
+    @DisplayName ("the same hand is only evaluated once, no matter which token was added or removed.")
+    void test_1() {
+        WinCache cache = new WinCache(16);
+
+        Evaluation e = cache.evaluate(WINNING, null, null);
+        Evaluation e2 = cache.evaluate(WINNING, Token.of(0, 1), Token.of(0, 1));
+
+        assertThat(e.winning()).isTrue();
+        assertThat(e.combination().stream().mapToInt(c -> c.length).sum()).isEqualTo(14);
+        assertThat(e2).isSameAs(e);
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName ("hands without 14 tokens are not winning and not cached.")
+    void test_2() {
+        WinCache cache = new WinCache(16);
+
+        assertThat(cache.evaluate(WINNING, Token.of(0, 1), null).winning()).isFalse();
+        assertThat(cache.evaluate(WINNING, null, Token.of(3, 13)).winning()).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,63 @@
+package Game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class WinDistanceTest {
+    private static Hand winning() {
+        return new Hand(
+                Token.of(1, 2), Token.of(1, 3), Token.of(1, 4), Token.of(1, 5), Token.of(1, 6), Token.of(1, 7),
+                Token.of(0, 9), Token.of(1, 9), Token.of(2, 9), Token.of(3, 9),
+                Token.of(0, 10), Token.of(1, 10), Token.of(2, 10), Token.of(3, 10));
+    }
+
+    @Test
+    @DisplayName ("the distance follows the hand, when tokens are added and removed.")
+    void test_1() {
+        Hand hand = winning();
+        WinDistance distance = new WinDistance();
+
+        assertThat(distance.of(hand)).isZero();
+        hand.add(Token.of(0, 1));
+        assertThat(distance.of(hand)).isZero();
+        hand.remove(Token.of(1, 4));
+        assertThat(distance.of(hand)).isEqualTo(1);
+        hand.remove(Token.of(0, 9));
+        hand.add(Token.of(3, 5));
+        assertThat(distance.of(hand)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName ("the useful tokens are exactly the ones, which complete the hand.")
+    void test_2() {
+        Hand hand = winning();
+        hand.remove(Token.of(1, 4));
+        hand.add(Token.of(0, 1));
+        WinDistance distance = new WinDistance();
+
+        assertThat(distance.of(hand)).isEqualTo(1);
+        assertThat(distance.useful(hand)).containsExactly(Token.of(1, 1), Token.of(1, 4), Token.joker());
+    }
+
+    @Test
+    @DisplayName ("the distance tracked over a match is the same as the distance computed from scratch.")
+    void test_3() {
+        Player[] players = { new Player("p1"), new Player("p2") };
+        Match match = new Match(players, s -> {}, null, 7L);
+        Player p = players[0];
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int turn = 0; turn < 30 && !match.deck.isEmpty(); turn++) {
+            Token[] tokens = p.hand.byColor();
+            p.hand.remove(tokens[random.nextInt(tokens.length)]);
+            assertThat(match.distanceToWin(p)).isEqualTo(new WinDistance().of(p.hand));
+            p.getNewToken(match.deck.draw());
+            assertThat(match.distanceToWin(p)).isEqualTo(new WinDistance().of(p.hand));
+        }
+    }
+}
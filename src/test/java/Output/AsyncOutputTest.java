@@ -0,0 +1,98 @@
+package Output;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName ("This test tests, if ")
+public class AsyncOutputTest {
+    @Test
+    @DisplayName ("all lines are written in order, even if the buffer is smaller than the amount of lines.")
+    void test_1() {
+        StringWriter target = new StringWriter();
+        StringBuilder expected = new StringBuilder();
+
+        try (AsyncOutput out = new AsyncOutput(target, 4)) {
+            for (int i = 0; i < 100; i++) {
+                out.println("line " + i);
+                expected.append("line ").append(i).append(System.lineSeparator());
+            }
+            out.flush();
+            assertThat(target.toString()).isEqualTo(expected.toString());
+        }
+    }
+
+    @Test
+    @DisplayName ("lines given to a disabled output are never built.")
+    void test_2() {
+        Output out = NullOutput.INSTANCE;
+
+        out.println(() -> {
+            throw new AssertionError("The line was built.");
+        });
+
+        assertThat(out.isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName ("every line, which was printed while the output was closed, is written or refused.")
+    void test_3() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            StringWriter target = new StringWriter();
+            AsyncOutput out = new AsyncOutput(target, 4);
+            CountDownLatch ready = new CountDownLatch(1);
+            List<String> accepted = new ArrayList<>();
+            Thread printer = new Thread(() -> {
+                ready.countDown();
+                for (int i = 0; ; i++) {
+                    try {
+                        out.println("line " + i);
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                    accepted.add("line " + i);
+                }
+            });
+            printer.start();
+            ready.await();
+            out.close();
+            printer.join();
+
+            StringBuilder expected = new StringBuilder();
+            for (String s : accepted) expected.append(s).append(System.lineSeparator());
+            assertThat(target.toString()).isEqualTo(expected.toString());
+        }
+    }
+
+    @Test
+    @DisplayName ("a failure of the target is thrown when the output is flushed and closed.")
+    void test_4() {
+        Writer failing = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        AsyncOutput out = new AsyncOutput(failing, 4);
+        out.println("line");
+
+        assertThatThrownBy(out::flush).isInstanceOf(UncheckedIOException.class).hasRootCauseMessage("disk full");
+        assertThatThrownBy(out::close).isInstanceOf(UncheckedIOException.class);
+    }
+}
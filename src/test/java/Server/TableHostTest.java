@@ -0,0 +1,66 @@
+package Server;
+
+import Game.Player;
+import Output.FakeOutput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName ("This test tests, if ")
+public class TableHostTest {
+    @Test
+    @DisplayName ("many tables run side by side, each with its own input and output, until they are closed.")
+    void test_1() {
+        TableHost host = new TableHost(TableHost.DEFAULT_STACK_SIZE, Duration.ofSeconds(10));
+        List<TableHost.Table> tables = new ArrayList<>();
+        List<FakeOutput> outputs = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            FakeOutput out = new FakeOutput();
+            outputs.add(out);
+            tables.add(host.open(new Player[] { new Player("Hakan" + i), new Player("Okan" + i) }, out));
+        }
+        assertThat(host.size()).isEqualTo(200);
+
+        for (TableHost.Table t : tables) t.send("show");
+        host.close();
+
+        assertThat(host.size()).isZero();
+        for (int i = 0; i < 200; i++) {
+            assertThat(tables.get(i).input().responses()).isEqualTo(1);
+            assertThat(outputs.get(i).output).contains("Please throw the first Token, Hakan" + i + ".",
+                    "A player left or exited the game.");
+        }
+    }
+
+    @Test
+    @DisplayName ("a closed host doesn't open tables.")
+    void test_2() {
+        TableHost host = new TableHost();
+        host.close();
+
+        assertThatThrownBy(() -> host.open(new Player[0], new FakeOutput())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName ("a table with invalid players waits for their names only as long as the turn timeout of the host.")
+    void test_3() throws InterruptedException, ExecutionException, TimeoutException {
+        TableHost host = new TableHost(TableHost.DEFAULT_STACK_SIZE, Duration.ofMillis(50));
+        FakeOutput out = new FakeOutput();
+        TableHost.Table table = host.open(new Player[] { new Player("Hakan") }, out);
+
+        table.done().get(5, TimeUnit.SECONDS);
+
+        assertThat(out.output).contains("Please enter the player names.");
+        host.close();
+    }
+}
@@ -0,0 +1,99 @@
+package Server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class TableServerTest {
+    @Test
+    @DisplayName ("players connected over TCP play at their own tables until they leave.")
+    void test_1() throws IOException, InterruptedException {
+        try (TableHost host = new TableHost(); TableServer server = new TableServer(host, 2, 2)) {
+            int port = server.start(0);
+
+            LoadClient.Result result = new LoadClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                    40, 5).run(Duration.ofSeconds(30));
+
+            assertThat(result.finished()).isEqualTo(40);
+            assertThat(result.latencies()).hasSizeGreaterThanOrEqualTo(40 * 5);
+            assertThat(host.size()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName ("a player only sees his own hand and the table measures how long the game takes to respond to him.")
+    void test_2() throws IOException, InterruptedException {
+        try (TableHost host = new TableHost(); TableServer server = new TableServer(host, 2, 1)) {
+            int port = server.start(0);
+
+            try (Socket s1 = new Socket(InetAddress.getLoopbackAddress(), port);
+                 Socket s2 = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                BufferedReader in1 = reader(s1), in2 = reader(s2);
+                writer(s1).println("Hakan");
+                assertThat(in1.readLine()).isEqualTo("Welcome to Okey. Please enter your name.");
+                assertThat(in1.readLine()).isEqualTo("Waiting for 1 more players.");
+                writer(s2).println("Okan");
+                assertThat(in2.readLine()).isEqualTo("Welcome to Okey. Please enter your name.");
+
+                assertThat(in1.readLine()).isEqualTo("Match starts!!");
+                String hand = in1.readLine();
+                assertThat(hand).startsWith("[");
+                assertThat(in2.readLine()).isEqualTo("Match starts!!");
+                assertThat(in2.readLine()).isEqualTo("Please throw the first Token, Hakan.");
+
+                // once the game waits for the next player, it responded to the throw of the first one
+                writer(s1).println(hand.substring(1, hand.indexOf(',')));
+                long deadline = System.nanoTime() + 5_000_000_000L;
+                while (!host.report().contains(": 1 turns") && System.nanoTime() < deadline) Thread.sleep(10);
+                assertThat(host.report()).contains(": 1 turns");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName ("names with characters outside of ASCII arrive as they were typed.")
+    void test_3() throws IOException, InterruptedException {
+        String name = "G\u00fcl\u015fen";
+        try (TableHost host = new TableHost(); TableServer server = new TableServer(host, 2, 1)) {
+            int port = server.start(0);
+
+            try (Socket s1 = new Socket(InetAddress.getLoopbackAddress(), port);
+                 Socket s2 = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                BufferedReader in1 = reader(s1), in2 = reader(s2);
+                writer(s1).println(name);
+                assertThat(in1.readLine()).isEqualTo("Welcome to Okey. Please enter your name.");
+                assertThat(in1.readLine()).isEqualTo("Waiting for 1 more players.");
+                writer(s2).println("Okan");
+                assertThat(in2.readLine()).isEqualTo("Welcome to Okey. Please enter your name.");
+
+                assertThat(in2.readLine()).isEqualTo("Match starts!!");
+                assertThat(in2.readLine()).isEqualTo("Please throw the first Token, " + name + ".");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName ("a server, which was never started, can be closed.")
+    void test_4() throws IOException {
+        try (TableHost host = new TableHost(); TableServer server = new TableServer(host, 2, 1)) {
+            assertThat(server.connections()).isZero();
+        }
+    }
+
+    private static BufferedReader reader(Socket s) throws IOException {
+        return new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static PrintWriter writer(Socket s) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), true);
+    }
+}
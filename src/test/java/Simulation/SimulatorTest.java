@@ -0,0 +1,23 @@
+package Simulation;
+
+import Game.GreedyStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName ("This test tests, if ")
+public class SimulatorTest {
+    @Test
+    @DisplayName ("a simulation with a seed plays the same games, no matter on how many threads.")
+    void test_1() {
+        Simulator simulator = new Simulator(3, GreedyStrategy::new);
+        simulator.setSeed(42);
+
+        Simulator.Result single = simulator.run(30, 1);
+        Simulator.Result parallel = simulator.run(30, 3);
+
+        assertThat(single.seed()).isEqualTo(42);
+        assertThat(parallel.matches()).isEqualTo(single.matches());
+    }
+}
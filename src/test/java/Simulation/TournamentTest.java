@@ -0,0 +1,72 @@
+package Simulation;
+
+import Game.GreedyStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName ("This test tests, if ")
+public class TournamentTest {
+    @Test
+    @DisplayName ("a round robin plays every pairing, writes a line for every game and keeps the ratings zero sum.")
+    void test_1(@TempDir Path dir) throws IOException {
+        Tournament tournament = new Tournament(2);
+        tournament.add("A", GreedyStrategy::new);
+        tournament.add("B", GreedyStrategy::new);
+        tournament.add("C", GreedyStrategy::new);
+        tournament.setSeed(42);
+        tournament.setResults(dir.resolve("results.jsonl"));
+
+        Tournament.Result result = tournament.run(4, 2);
+
+        List<String> lines = Files.readAllLines(dir.resolve("results.jsonl"));
+        assertThat(result.games()).isEqualTo(12);
+        assertThat(lines).hasSize(12).allSatisfy(l -> assertThat(l).startsWith("{\"game\":").contains("\"places\":["));
+        assertThat(result.standings()).allSatisfy(s -> assertThat(s.games()).isEqualTo(8));
+        assertThat(result.standings().stream().mapToLong(Tournament.Standing::wins).sum()).isEqualTo(12);
+        assertThat(result.standings().stream().mapToDouble(Tournament.Standing::rating).sum()).isCloseTo(4500,
+                within(1e-6));
+    }
+
+    @Test
+    @DisplayName ("the results are written as CSV, if the file name ends with .csv.")
+    void test_2(@TempDir Path dir) throws IOException {
+        Tournament tournament = new Tournament(3);
+        tournament.add("A", GreedyStrategy::new);
+        tournament.add("B", GreedyStrategy::new);
+        tournament.add("C", GreedyStrategy::new);
+        tournament.setResults(dir.resolve("results.csv"));
+
+        tournament.run(3, 1);
+
+        List<String> lines = Files.readAllLines(dir.resolve("results.csv"));
+        assertThat(lines.get(0)).isEqualTo("game,seat0,place0,seat1,place1,seat2,place2");
+        assertThat(lines).hasSize(4);
+        assertThat(lines.subList(1, 4)).allSatisfy(l -> assertThat(l).contains(",1"));
+    }
+
+    @Test
+    @DisplayName ("names with quotes, commas and line breaks are escaped in JSON and quoted in CSV.")
+    void test_3(@TempDir Path dir) throws IOException {
+        for (String file : new String[] { "results.jsonl", "results.csv" }) {
+            Tournament tournament = new Tournament(2);
+            tournament.add("Ha\"kan", GreedyStrategy::new);
+            tournament.add("O,kan\n\\", GreedyStrategy::new);
+            tournament.setResults(dir.resolve(file));
+            tournament.run(1, 1);
+        }
+
+        List<String> json = Files.readAllLines(dir.resolve("results.jsonl"));
+        assertThat(json).isNotEmpty().allSatisfy(l -> assertThat(l).contains("\"Ha\\\"kan\"", "\"O,kan\\u000a\\\\\""));
+        String csv = Files.readString(dir.resolve("results.csv"));
+        assertThat(csv).contains(",\"Ha\"\"kan\",", ",\"O,kan\n\\\",");
+    }
+}